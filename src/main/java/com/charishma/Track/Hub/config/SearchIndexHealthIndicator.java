@@ -0,0 +1,29 @@
+package com.charishma.Track.Hub.config;
+
+import com.charishma.Track.Hub.service.PostSearchService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * "searchIndex" health: OUT_OF_SERVICE until the in-memory search index is built (or caught up
+ * from its snapshot). Part of the readiness group, so a rolling deploy only sends traffic to an
+ * instance once search, filters and autocomplete are served from memory.
+ */
+@Component
+public class SearchIndexHealthIndicator implements HealthIndicator {
+
+    private final PostSearchService postSearchService;
+
+    public SearchIndexHealthIndicator(PostSearchService postSearchService) {
+        this.postSearchService = postSearchService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = postSearchService.isReady() ? Health.up() : Health.outOfService();
+        return health.withDetail("startup", postSearchService.getStartup())
+                .withDetail("posts", postSearchService.size())
+                .build();
+    }
+}
@@ -4,11 +4,15 @@ import com.charishma.Track.Hub.dto.LoginRequest;
 import com.charishma.Track.Hub.dto.RegistrationRequest;
 import com.charishma.Track.Hub.dto.UserResponse;
 import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.service.OtpRateLimiter;
 import com.charishma.Track.Hub.service.OtpService;
 import com.charishma.Track.Hub.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,9 +32,12 @@ public class AuthController {
     @Autowired
     private OtpService otpService;
 
+    @Autowired
+    private OtpRateLimiter otpRateLimiter;
+
     // ✅ Step 1: Send OTP (for REGISTER or LOGIN)
     @PostMapping("/send-otp")
-    public ResponseEntity<?> sendOtp(@RequestBody Map<String, String> req) {
+    public ResponseEntity<?> sendOtp(@RequestBody Map<String, String> req, HttpServletRequest request) {
         try {
             String email = req.get("email");
             String phone = req.get("phone"); // may be null in LOGIN
@@ -58,6 +65,13 @@ public class AuthController {
                     return ResponseEntity.badRequest().body("Phone number is required for registration OTP.");
             }
 
+            long retryAfter = otpRateLimiter.acquire(request.getRemoteAddr(), phone, email);
+            if (retryAfter > 0) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                        .body("Too many OTP requests. Try again in " + retryAfter + " seconds.");
+            }
+
             String otp = otpService.createOtpForPhone(phone, purpose);
             otpService.sendOtp(phone, otp);
             return ResponseEntity.ok("✅ OTP sent successfully to your registered phone (" + phone + ").");
@@ -2,14 +2,36 @@ package com.charishma.Track.Hub.controller;
 
 import com.charishma.Track.Hub.dto.*;
 import com.charishma.Track.Hub.model.Claim;
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.service.OtpRateLimiter;
 import com.charishma.Track.Hub.service.OtpService;
+import com.charishma.Track.Hub.service.PhotoStorageService;
+import com.charishma.Track.Hub.service.PhotoVariantService;
+import com.charishma.Track.Hub.service.PostDetailCache;
+import com.charishma.Track.Hub.service.PostMatchService;
+import com.charishma.Track.Hub.service.PostSearchService;
 import com.charishma.Track.Hub.service.PostService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -17,19 +39,47 @@ public class PostController {
 
     private final PostService postService;
     private final OtpService otpService;
+    private final PhotoStorageService photoStorageService;
+    private final PhotoVariantService photoVariantService;
+    private final PostSearchService postSearchService;
+    private final PostMatchService postMatchService;
+    private final OtpRateLimiter otpRateLimiter;
 
-    public PostController(PostService postService, OtpService otpService) {
+    public PostController(PostService postService,
+                          OtpService otpService,
+                          PhotoStorageService photoStorageService,
+                          PhotoVariantService photoVariantService,
+                          PostSearchService postSearchService,
+                          PostMatchService postMatchService,
+                          OtpRateLimiter otpRateLimiter) {
         this.postService = postService;
         this.otpService = otpService;
+        this.photoStorageService = photoStorageService;
+        this.photoVariantService = photoVariantService;
+        this.postSearchService = postSearchService;
+        this.postMatchService = postMatchService;
+        this.otpRateLimiter = otpRateLimiter;
     }
 
     /* ------------------------------------------
        Create a new post
+       - JSON body with Base64 photoUrl (legacy)
+       - multipart/form-data with post fields + "photo" file part (streamed)
     ------------------------------------------ */
     @PostMapping("/create")
     public ResponseEntity<?> createPost(@RequestBody PostRequest req) {
+        return create(req, null);
+    }
+
+    @PostMapping(value = "/create", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> createPostMultipart(@ModelAttribute PostRequest req,
+                                                 @RequestPart(name = "photo", required = false) MultipartFile photo) {
+        return create(req, photo);
+    }
+
+    private ResponseEntity<?> create(PostRequest req, MultipartFile photo) {
         try {
-            PostResponse saved = postService.createPost(req);
+            PostResponse saved = postService.createPost(req, photo);
             return ResponseEntity.ok(Map.of(
                 "status", "success",
                 "message", "Post created successfully!",
@@ -53,12 +103,16 @@ public class PostController {
        Get posts by user ID
     ------------------------------------------ */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getUserPosts(@PathVariable Long userId) {
+    public ResponseEntity<?> getUserPosts(@PathVariable Long userId,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limit) {
         try {
-            List<PostResponse> posts = postService.getUserPosts(userId);
-            return ResponseEntity.ok(Map.of(
-                "status", "success",
-                "data", posts
+            PostPage page = postService.getUserPostsPage(userId, cursor, limit);
+            return ResponseEntity.ok(pageBody(page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
             ));
         } catch (Exception e) {
             e.printStackTrace();
@@ -70,39 +124,146 @@ public class PostController {
     }
 
     /* ------------------------------------------
-       Get all posts (sorted by date DESC)
+       Get all posts (sorted by date DESC, cursor paginated)
+       - Conditional GET: 304 when the requested page has not changed
     ------------------------------------------ */
     @GetMapping("/all")
-    public ResponseEntity<?> getAllPosts() {
+    public ResponseEntity<?> getAllPosts(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit,
+                                         WebRequest request) {
         try {
-            List<PostResponse> posts = postService.getAllPostsSortedByDateDesc();
+            PostPage page = postService.getAllPostsPage(cursor, limit);
+            if (request.checkNotModified(ContentVersion.forPage(page).getEtag())) {
+                return null; // 304 already written
+            }
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(pageBody(page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of(
+                "status", "error",
+                "message", "Error fetching all posts: " + e.getMessage()
+            ));
+        }
+    }
+
+    /* ------------------------------------------
+       Keyword search (BM25 ranked, best match first)
+       ?mode=keyword (default) | fuzzy (typo tolerant)
+    ------------------------------------------ */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchPosts(@RequestParam("q") String query,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String mode) {
+        try {
+            PostSearchService.Mode searchMode = PostSearchService.Mode.parse(mode);
             return ResponseEntity.ok(Map.of(
                 "status", "success",
-                "data", posts
+                "data", postSearchService.search(query, limit, searchMode)
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
             ));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(500).body(Map.of(
                 "status", "error",
-                "message", "Error fetching all posts: " + e.getMessage()
+                "message", "Error searching posts: " + e.getMessage()
+            ));
+        }
+    }
+
+    /* ------------------------------------------
+       Search-box autocomplete (title / category / location prefixes)
+    ------------------------------------------ */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@RequestParam("q") String query,
+                                     @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", postSearchService.suggest(query, limit)
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of(
+                "status", "error",
+                "message", "Error fetching suggestions: " + e.getMessage()
+            ));
+        }
+    }
+
+    /* ------------------------------------------
+       Combined filter with facet counts (newest first, cursor paginated)
+       ?status=&category=&location= (repeatable, OR within a dimension)
+       &claimed=true|false&from=&to= (ISO dates, inclusive)
+    ------------------------------------------ */
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterPosts(@RequestParam(required = false) List<String> status,
+                                         @RequestParam(required = false) List<String> category,
+                                         @RequestParam(required = false) List<String> location,
+                                         @RequestParam(required = false) Boolean claimed,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit) {
+        try {
+            FacetedPostPage page = postSearchService.filter(status, category, location, claimed, from, to, cursor, limit);
+            Map<String, Object> body = pageBody(page);
+            body.put("total", page.getTotal());
+            body.put("facets", page.getFacets());
+            return ResponseEntity.ok(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of(
+                "status", "error",
+                "message", "Error filtering posts: " + e.getMessage()
             ));
         }
     }
 
     /* ------------------------------------------
        Get post details by ID
+       - Served from the detail cache (validators cached alongside)
+       - Conditional GET: 304 when post and owner are unchanged
     ------------------------------------------ */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getPostById(@PathVariable Long id) {
+    public ResponseEntity<?> getPostById(@PathVariable Long id, WebRequest request) {
         try {
-            PostDetailResponse dto = postService.getPostDetail(id);
-            if (dto == null) {
+            Optional<PostDetailCache.Entry> entry = postService.getCachedPostDetail(id);
+            if (entry.isEmpty()) {
                 return ResponseEntity.status(404).body(Map.of(
                     "status", "error",
                     "message", "Post not found"
                 ));
             }
-            return ResponseEntity.ok(Map.of(
+            ContentVersion version = entry.get().getVersion();
+            if (request.checkNotModified(version.getEtag(), version.getLastModified())) {
+                return null; // 304 already written
+            }
+            PostDetailResponse dto = entry.get().getDetail();
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(Map.of(
                 "status", "success",
                 "data", dto
             ));
@@ -116,12 +277,107 @@ public class PostController {
     }
 
     /* ------------------------------------------
-       Update a post
+       Likely counterparts of a post (LOST <-> FOUND), best first
+       - Computed in the background when posts are created / edited
+    ------------------------------------------ */
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<?> getPostMatches(@PathVariable Long id) {
+        try {
+            Optional<List<PostMatchResponse>> matches = postMatchService.getMatches(id);
+            if (matches.isEmpty()) {
+                return ResponseEntity.status(404).body(Map.of(
+                    "status", "error",
+                    "message", "Post not found"
+                ));
+            }
+            return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", matches.get()
+            ));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of(
+                "status", "error",
+                "message", "Error fetching matches: " + e.getMessage()
+            ));
+        }
+    }
+
+    /* ------------------------------------------
+       Stream post photo (zero-copy from the photo store)
+       ?size=small|medium|original (default original)
+    ------------------------------------------ */
+    @GetMapping("/{id}/photo")
+    public void getPostPhoto(@PathVariable Long id,
+                             @RequestParam(name = "size", required = false) String size,
+                             @RequestParam(name = "v", required = false) String version,
+                             HttpServletResponse response) throws IOException {
+        PhotoSize variant;
+        try {
+            variant = PhotoSize.parse(size);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        Optional<Post> opt = postService.findPostWithPhoto(id);
+        if (opt.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        Post post = opt.get();
+        String key = post.getPhotoKey();
+
+        // variant not generated yet (or not decodable): serve the original and queue generation
+        boolean serveVariant = variant != null && photoStorageService.variantExists(key, variant.getWidth());
+        if (variant != null && !serveVariant) {
+            photoVariantService.generateAsync(key);
+        }
+
+        if (serveVariant) {
+            response.setContentType("image/jpeg");
+            response.setContentLengthLong(photoStorageService.variantSize(key, variant.getWidth()));
+            response.setHeader(HttpHeaders.ETAG, "\"" + key + "-w" + variant.getWidth() + "\"");
+        } else {
+            response.setContentType(post.getPhotoContentType() != null
+                    ? post.getPhotoContentType() : PhotoStorageService.DEFAULT_CONTENT_TYPE);
+            response.setContentLengthLong(photoStorageService.size(key));
+            response.setHeader(HttpHeaders.ETAG, "\"" + key + "\"");
+        }
+
+        // versioned URLs (?v=<key prefix>) never change content; unversioned ones
+        // and original-instead-of-variant fallbacks must revalidate
+        boolean versioned = version != null && !version.isBlank() && key.startsWith(version);
+        boolean immutable = versioned && (variant == null || serveVariant);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? "public, max-age=31536000, immutable" : "no-cache");
+
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        if (serveVariant) {
+            photoStorageService.transferVariantTo(key, variant.getWidth(), out);
+        } else {
+            photoStorageService.transferTo(key, out);
+        }
+        response.flushBuffer();
+    }
+
+    /* ------------------------------------------
+       Update a post (JSON or multipart, as for create)
     ------------------------------------------ */
     @PutMapping("/{id}")
     public ResponseEntity<?> updatePost(@PathVariable Long id, @RequestBody PostRequest req) {
+        return update(id, req, null);
+    }
+
+    @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> updatePostMultipart(@PathVariable Long id,
+                                                 @ModelAttribute PostRequest req,
+                                                 @RequestPart(name = "photo", required = false) MultipartFile photo) {
+        return update(id, req, photo);
+    }
+
+    private ResponseEntity<?> update(Long id, PostRequest req, MultipartFile photo) {
         try {
-            PostResponse updated = postService.updatePost(id, req);
+            PostResponse updated = postService.updatePost(id, req, photo);
             return ResponseEntity.ok(Map.of(
                 "status", "success",
                 "message", "Post updated successfully!",
@@ -132,6 +388,12 @@ public class PostController {
                 "status", "error",
                 "message", e.getMessage()
             ));
+        } catch (OptimisticLockingFailureException e) {
+            // Post.version moved on since the post was read: someone else changed it first
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "status", "error",
+                "message", "Post was changed by someone else, reload it and try again"
+            ));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(500).body(Map.of(
@@ -157,6 +419,12 @@ public class PostController {
                 "status", "error",
                 "message", e.getMessage()
             ));
+        } catch (OptimisticLockingFailureException e) {
+            // Post.version moved on since the post was read: someone else changed it first
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "status", "error",
+                "message", "Post was changed by someone else, reload it and try again"
+            ));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(500).body(Map.of(
@@ -170,7 +438,8 @@ public class PostController {
        Step 1: Initiate contact (Generate OTP)
     ------------------------------------------ */
     @PostMapping("/{id}/contact/initiate")
-    public ResponseEntity<?> initiateContact(@PathVariable Long id, @RequestBody ContactRequest req) {
+    public ResponseEntity<?> initiateContact(@PathVariable Long id, @RequestBody ContactRequest req,
+                                             HttpServletRequest request) {
         try {
             if (!postService.existsById(id)) {
                 return ResponseEntity.status(404).body(Map.of(
@@ -179,6 +448,16 @@ public class PostController {
                 ));
             }
 
+            long retryAfter = otpRateLimiter.acquire(request.getRemoteAddr(), req.getSenderPhone(), req.getSenderEmail());
+            if (retryAfter > 0) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                        .body(Map.of(
+                            "status", "error",
+                            "message", "Too many OTP requests. Try again in " + retryAfter + " seconds."
+                        ));
+            }
+
             String otp = otpService.createOtpForPhone(req.getSenderPhone(), "CONTACT");
             otpService.sendOtp(req.getSenderPhone(), otp);
 
@@ -256,4 +535,13 @@ public class PostController {
             ));
         }
     }
+
+    // Page envelope: nextCursor is null on the last page (Map.of does not allow nulls)
+    private Map<String, Object> pageBody(PostPage page) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "success");
+        body.put("data", page.getItems());
+        body.put("nextCursor", page.getNextCursor());
+        return body;
+    }
 }
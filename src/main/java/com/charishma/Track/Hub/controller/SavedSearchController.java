@@ -0,0 +1,92 @@
+package com.charishma.Track.Hub.controller;
+
+import com.charishma.Track.Hub.dto.SavedSearchRequest;
+import com.charishma.Track.Hub.service.SavedSearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Saved searches: new posts matching one are emailed to its owner
+ * (instead of the client polling /api/posts/all).
+ */
+@RestController
+@RequestMapping("/api/saved-searches")
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    public SavedSearchController(SavedSearchService savedSearchService) {
+        this.savedSearchService = savedSearchService;
+    }
+
+    /* ------------------------------------------
+       Register a saved search
+       - JSON body: userId + any of query (keywords), category, status
+    ------------------------------------------ */
+    @PostMapping
+    public ResponseEntity<?> create(@RequestBody SavedSearchRequest req) {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", savedSearchService.create(req)
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of(
+                "status", "error",
+                "message", "Error saving search: " + e.getMessage()
+            ));
+        }
+    }
+
+    /* ------------------------------------------
+       List a user's saved searches (newest first)
+    ------------------------------------------ */
+    @GetMapping
+    public ResponseEntity<?> list(@RequestParam Long userId) {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", savedSearchService.list(userId)
+            ));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of(
+                "status", "error",
+                "message", "Error fetching saved searches: " + e.getMessage()
+            ));
+        }
+    }
+
+    /* ------------------------------------------
+       Delete one of the user's saved searches
+    ------------------------------------------ */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> delete(@PathVariable Long id, @RequestParam Long userId) {
+        try {
+            if (!savedSearchService.delete(id, userId)) {
+                return ResponseEntity.status(404).body(Map.of(
+                    "status", "error",
+                    "message", "Saved search not found"
+                ));
+            }
+            return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", "Saved search deleted"
+            ));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of(
+                "status", "error",
+                "message", "Error deleting saved search: " + e.getMessage()
+            ));
+        }
+    }
+}
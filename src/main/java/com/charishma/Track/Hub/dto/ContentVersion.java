@@ -0,0 +1,76 @@
+package com.charishma.Track.Hub.dto;
+
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * Validators for conditional GETs: a strong ETag and a Last-Modified time (epoch millis, -1 if unknown).
+ * Built from version columns and timestamps, or from the rows of a page already loaded, so a 304
+ * never needs the response serialized.
+ */
+public class ContentVersion {
+
+    private final String etag;
+    private final long lastModified;
+
+    public ContentVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    // ✅ Feed page: a hash of exactly what the page shows (rows and next cursor), computed from the
+    // rows already loaded for it, so no extra query; no Last-Modified (row timestamps do not
+    // cover edits)
+    public static ContentVersion forPage(PostPage page) {
+        MessageDigest digest = sha256();
+        for (PostResponse p : page.getItems()) {
+            update(digest, p.getId(), p.getUserId(), p.getTitle(), p.getDescription(), p.getLocation(),
+                    p.getCategory(), p.getStatus(), p.getContactPublic(), p.getAdditionalNotes(),
+                    p.getPhotoUrl(), p.getCreatedAt());
+        }
+        update(digest, page.getNextCursor());
+        return new ContentVersion("\"feed-" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"", -1);
+    }
+
+    // ✅ Post detail: the post itself plus the owner block (profile timestamp and counters)
+    public static ContentVersion forPost(Post post) {
+        User owner = post.getUser();
+        long postModified = millis(post.getUpdatedAt() != null ? post.getUpdatedAt() : post.getCreatedAt());
+        long ownerModified = owner != null ? millis(owner.getUpdatedAt()) : -1;
+        String ownerPart = owner == null ? "0"
+                : owner.getId() + "-" + ownerModified + "-" + owner.getItemsPosted() + "-" + owner.getItemsReturned();
+        return new ContentVersion("\"post-" + post.getId() + "-" + post.getVersion() + "-" + postModified
+                + "-" + ownerPart + "\"", Math.max(postModified, ownerModified));
+    }
+
+    public String getEtag() { return etag; }
+    public long getLastModified() { return lastModified; }
+
+    // each value followed by a separator, so adjacent fields cannot run into each other
+    private static void update(MessageDigest digest, Object... values) {
+        for (Object value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    // timestamps are written with LocalDateTime.now(), i.e. in the server's zone
+    private static long millis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
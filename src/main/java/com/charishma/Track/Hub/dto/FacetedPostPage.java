@@ -0,0 +1,24 @@
+package com.charishma.Track.Hub.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A filtered page of posts plus the total match count and per-dimension facet counts
+ * (dimension -> value -> number of posts), computed over the whole filtered set.
+ */
+public class FacetedPostPage extends PostPage {
+
+    private final int total;
+    private final Map<String, Map<String, Integer>> facets;
+
+    public FacetedPostPage(List<PostResponse> items, String nextCursor,
+                           int total, Map<String, Map<String, Integer>> facets) {
+        super(items, nextCursor);
+        this.total = total;
+        this.facets = facets;
+    }
+
+    public int getTotal() { return total; }
+    public Map<String, Map<String, Integer>> getFacets() { return facets; }
+}
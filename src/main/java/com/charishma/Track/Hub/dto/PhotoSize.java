@@ -0,0 +1,29 @@
+package com.charishma.Track.Hub.dto;
+
+import java.util.Locale;
+
+/**
+ * Downsized JPEG variants served next to each post photo (?size=small|medium); the original
+ * upload is "original" (or no size at all).
+ */
+public enum PhotoSize {
+    SMALL(160), MEDIUM(640);
+
+    private final int width;
+
+    PhotoSize(int width) { this.width = width; }
+
+    public int getWidth() { return width; }
+
+    public String param() { return name().toLowerCase(Locale.ROOT); }
+
+    // null / "original" -> null (the original file)
+    public static PhotoSize parse(String value) {
+        if (value == null || value.isBlank() || value.equalsIgnoreCase("original")) return null;
+        try {
+            return PhotoSize.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown photo size: " + value + " (use small, medium or original)");
+        }
+    }
+}
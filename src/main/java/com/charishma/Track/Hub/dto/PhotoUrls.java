@@ -0,0 +1,18 @@
+package com.charishma.Track.Hub.dto;
+
+/**
+ * Photo endpoint URLs for the DTOs. The content key is appended (?v=) so browsers can cache
+ * each URL forever: a new photo means a new key, hence a new URL.
+ */
+public final class PhotoUrls {
+
+    private PhotoUrls() {
+    }
+
+    // size == null -> original upload; null when the post has no photo
+    public static String of(Long postId, String photoKey, PhotoSize size) {
+        if (postId == null || photoKey == null) return null;
+        String sizeParam = size != null ? "size=" + size.param() + "&" : "";
+        return "/api/posts/" + postId + "/photo?" + sizeParam + "v=" + photoKey.substring(0, 12);
+    }
+}
@@ -8,7 +8,8 @@ public class PostDetailResponse {
     private String title;
     private String description;
     private String location;
-    private String photoBase64; // base64 data URL (without prefix)
+    private String photoUrl; // medium-size photo URL
+    private String originalPhotoUrl; // full-size upload URL
     private String category;
     private String status;
     private Boolean isClaimed;
@@ -66,8 +67,11 @@ public class PostDetailResponse {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
-    public String getPhotoBase64() { return photoBase64; }
-    public void setPhotoBase64(String photoBase64) { this.photoBase64 = photoBase64; }
+    public String getPhotoUrl() { return photoUrl; }
+    public void setPhotoUrl(String photoUrl) { this.photoUrl = photoUrl; }
+
+    public String getOriginalPhotoUrl() { return originalPhotoUrl; }
+    public void setOriginalPhotoUrl(String originalPhotoUrl) { this.originalPhotoUrl = originalPhotoUrl; }
 
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
@@ -0,0 +1,23 @@
+package com.charishma.Track.Hub.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A suggested counterpart post (opposite status) with its 0..1 match score.
+ */
+public class PostMatchResponse {
+
+    private final PostResponse post;
+    private final float score;
+    private final LocalDateTime matchedAt;
+
+    public PostMatchResponse(PostResponse post, float score, LocalDateTime matchedAt) {
+        this.post = post;
+        this.score = score;
+        this.matchedAt = matchedAt;
+    }
+
+    public PostResponse getPost() { return post; }
+    public float getScore() { return score; }
+    public LocalDateTime getMatchedAt() { return matchedAt; }
+}
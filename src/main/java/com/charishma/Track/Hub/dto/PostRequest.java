@@ -1,7 +1,6 @@
 package com.charishma.Track.Hub.dto;
 
 import com.charishma.Track.Hub.model.Post;
-import java.util.Base64;
 
 public class PostRequest {
 
@@ -10,11 +9,12 @@ public class PostRequest {
     private String title;
     private String description;
     private String location;
-    private String photoUrl; // Base64 string
+    private String photoUrl; // Base64 string (requests) or photo endpoint URL (fromEntity)
     private String category;
     private String status;
     private String contactPublic;
     private String additionalNotes;
+    private Boolean isClaimed; // update only: owner marks the item as returned
 
     // ✅ Factory method to convert Post -> PostResponse
     public static PostRequest fromEntity(Post post) {
@@ -25,15 +25,14 @@ public class PostRequest {
         res.setDescription(post.getDescription());
         res.setLocation(post.getLocation());
 
-        // Convert byte[] -> Base64 string for frontend
-        if (post.getPhotoUrl() != null) {
-            res.setPhotoUrl("data:image/png;base64," + Base64.getEncoder().encodeToString(post.getPhotoUrl()));
-        }
+        // Photo is served separately; point at its endpoint
+        res.setPhotoUrl(PhotoUrls.of(post.getId(), post.getPhotoKey(), null));
 
         res.setCategory(post.getCategory());
         res.setStatus(post.getStatus().name());
         res.setContactPublic(post.getContactPublic().name());
         res.setAdditionalNotes(post.getAdditionalNotes());
+        res.setIsClaimed(post.getIsClaimed());
         return res;
     }
 
@@ -67,4 +66,7 @@ public class PostRequest {
 
     public String getAdditionalNotes() { return additionalNotes; }
     public void setAdditionalNotes(String additionalNotes) { this.additionalNotes = additionalNotes; }
+
+    public Boolean getIsClaimed() { return isClaimed; }
+    public void setIsClaimed(Boolean isClaimed) { this.isClaimed = isClaimed; }
 }
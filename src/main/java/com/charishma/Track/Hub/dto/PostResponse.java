@@ -1,7 +1,8 @@
 package com.charishma.Track.Hub.dto;
 
 import com.charishma.Track.Hub.model.Post;
-import java.util.Base64;
+
+import java.time.LocalDateTime;
 
 public class PostResponse {
 
@@ -10,11 +11,14 @@ public class PostResponse {
     private String title;
     private String description;
     private String location;
-    private String photoUrl; // Base64 string
+    private String photoUrl; // feed-sized (medium) photo URL (null if no photo)
+    private String thumbnailUrl; // small photo URL
+    private boolean hasPhoto;
     private String category;
     private String status;
     private String contactPublic;
     private String additionalNotes;
+    private LocalDateTime createdAt;
 
     public PostResponse(Post post) {
         this.id = post.getId();
@@ -26,12 +30,29 @@ public class PostResponse {
         this.status = post.getStatus() != null ? post.getStatus().name() : null;
         this.contactPublic = post.getContactPublic() != null ? post.getContactPublic().name() : null;
         this.additionalNotes = post.getAdditionalNotes();
+        this.photoUrl = PhotoUrls.of(post.getId(), post.getPhotoKey(), PhotoSize.MEDIUM);
+        this.thumbnailUrl = PhotoUrls.of(post.getId(), post.getPhotoKey(), PhotoSize.SMALL);
+        this.hasPhoto = post.getPhotoKey() != null;
+        this.createdAt = post.getCreatedAt();
+    }
 
-        if (post.getPhotoUrl() != null && post.getPhotoUrl().length > 0) {
-            this.photoUrl = Base64.getEncoder().encodeToString(post.getPhotoUrl());
-        } else {
-            this.photoUrl = null;
-        }
+    // ✅ Scalar-only constructor used by JPQL list projections (no entity, no lazy user)
+    public PostResponse(Long id, Long userId, String title, String description, String location,
+                        String category, Post.Status status, Post.ContactMethod contactPublic,
+                        String additionalNotes, String photoKey, LocalDateTime createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.title = title;
+        this.description = description;
+        this.location = location;
+        this.category = category;
+        this.status = status != null ? status.name() : null;
+        this.contactPublic = contactPublic != null ? contactPublic.name() : null;
+        this.additionalNotes = additionalNotes;
+        this.photoUrl = PhotoUrls.of(id, photoKey, PhotoSize.MEDIUM);
+        this.thumbnailUrl = PhotoUrls.of(id, photoKey, PhotoSize.SMALL);
+        this.hasPhoto = photoKey != null;
+        this.createdAt = createdAt;
     }
 
     // Getters (no setters required unless you want them)
@@ -41,8 +62,11 @@ public class PostResponse {
     public String getDescription() { return description; }
     public String getLocation() { return location; }
     public String getPhotoUrl() { return photoUrl; }
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public boolean isHasPhoto() { return hasPhoto; }
     public String getCategory() { return category; }
     public String getStatus() { return status; }
     public String getContactPublic() { return contactPublic; }
     public String getAdditionalNotes() { return additionalNotes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
 }
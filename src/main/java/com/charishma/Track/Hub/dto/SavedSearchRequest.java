@@ -0,0 +1,18 @@
+package com.charishma.Track.Hub.dto;
+
+public class SavedSearchRequest {
+    private Long userId;
+    private String query;    // keywords, all must appear (optional)
+    private String category; // optional
+    private String status;   // LOST / FOUND (optional)
+
+    // getters/setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
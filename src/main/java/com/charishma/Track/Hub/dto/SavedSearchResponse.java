@@ -0,0 +1,28 @@
+package com.charishma.Track.Hub.dto;
+
+import com.charishma.Track.Hub.model.SavedSearch;
+
+import java.time.LocalDateTime;
+
+public class SavedSearchResponse {
+
+    private final Long id;
+    private final String query;
+    private final String category;
+    private final String status;
+    private final LocalDateTime createdAt;
+
+    public SavedSearchResponse(SavedSearch search) {
+        this.id = search.getId();
+        this.query = search.getQuery();
+        this.category = search.getCategory();
+        this.status = search.getStatus() != null ? search.getStatus().name() : null;
+        this.createdAt = search.getCreatedAt();
+    }
+
+    public Long getId() { return id; }
+    public String getQuery() { return query; }
+    public String getCategory() { return category; }
+    public String getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "claims")
+@Table(name = "claims", indexes = @Index(name = "idx_claims_post_status", columnList = "post_id, status"))
 public class Claim {
 
     @Id
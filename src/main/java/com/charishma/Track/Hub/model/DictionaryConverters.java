@@ -0,0 +1,55 @@
+package com.charishma.Track.Hub.model;
+
+import com.charishma.Track.Hub.service.PostDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps Post.category / Post.location (String) to their dictionary ids (INT columns).
+ * Created by Hibernate through Spring, so the shared PostDictionary cache is injected.
+ * Writing never inserts: PostDictionaryListener registers new values before the flush,
+ * and an unknown value in a query parameter becomes an id that matches no row.
+ */
+public final class DictionaryConverters {
+
+    private static final int NO_MATCH = -1;
+
+    private DictionaryConverters() {
+    }
+
+    abstract static class Base implements AttributeConverter<String, Integer> {
+        private final PostDictionary dictionary;
+        private final PostDictionary.Kind kind;
+
+        Base(PostDictionary dictionary, PostDictionary.Kind kind) {
+            this.dictionary = dictionary;
+            this.kind = kind;
+        }
+
+        @Override
+        public Integer convertToDatabaseColumn(String name) {
+            if (name == null) return null;
+            Integer id = dictionary.idOf(kind, name);
+            return id != null ? id : NO_MATCH;
+        }
+
+        @Override
+        public String convertToEntityAttribute(Integer id) {
+            return id == null ? null : dictionary.nameOf(kind, id);
+        }
+    }
+
+    @Converter
+    public static class CategoryConverter extends Base {
+        public CategoryConverter(PostDictionary dictionary) {
+            super(dictionary, PostDictionary.Kind.CATEGORY);
+        }
+    }
+
+    @Converter
+    public static class LocationConverter extends Base {
+        public LocationConverter(PostDictionary dictionary) {
+            super(dictionary, PostDictionary.Kind.LOCATION);
+        }
+    }
+}
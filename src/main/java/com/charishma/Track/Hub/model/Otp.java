@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "otps")
+@Table(name = "otps", indexes = {
+        // latest unused code for a phone / user and purpose
+        @Index(name = "idx_otps_phone_purpose_used_created", columnList = "phone, purpose, is_used, created_at"),
+        @Index(name = "idx_otps_user_purpose_used_created", columnList = "user_id, purpose, is_used, created_at")
+})
 public class Otp {
 
     @Id
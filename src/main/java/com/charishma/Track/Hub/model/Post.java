@@ -1,10 +1,24 @@
 package com.charishma.Track.Hub.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        // keyset pagination: newest first, id as tie-breaker
+        @Index(name = "idx_posts_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_posts_user_created_id", columnList = "user_id, created_at, id"),
+        // newest change (search index snapshot stamp and warm start)
+        @Index(name = "idx_posts_updated_at", columnList = "updated_at"),
+        // profile stats and photo cleanup (see db/migration/V3)
+        @Index(name = "idx_posts_user_claimed", columnList = "user_id, is_claimed"),
+        @Index(name = "idx_posts_photo_key", columnList = "photo_key"),
+        // dictionary-encoded filters (see db/migration/V4)
+        @Index(name = "idx_posts_category", columnList = "category_id"),
+        @Index(name = "idx_posts_location", columnList = "location_id")
+})
+@EntityListeners(PostDictionaryListener.class)
 public class Post {
 
     @Id
@@ -22,16 +36,21 @@ public class Post {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String description;
 
-    @Column(nullable = false)
+    // ✅ Stored as a locations id; the name comes from the PostDictionary cache
+    @Convert(converter = DictionaryConverters.LocationConverter.class)
+    @Column(name = "location_id", nullable = false)
     private String location;
 
-    // ✅ Store image as BLOB instead of LONGTEXT
-    @Lob
-    @Column(name = "photo_url", columnDefinition = "LONGBLOB")
-    private byte[] photoUrl;
+    // ✅ Photo bytes live in the photo store; the row only keeps the content key
+    @Column(name = "photo_key", length = 64)
+    private String photoKey;
+
+    @Column(name = "photo_content_type", length = 50)
+    private String photoContentType;
 
-    // ✅ Category field
-    @Column(nullable = false, length = 100)
+    // ✅ Category field, stored as a categories id (see PostDictionary)
+    @Convert(converter = DictionaryConverters.CategoryConverter.class)
+    @Column(name = "category_id", nullable = false)
     private String category;
 
     @Enumerated(EnumType.STRING)
@@ -53,6 +72,12 @@ public class Post {
     @Column(name = "updated_at", columnDefinition = "DATETIME")
     private LocalDateTime updatedAt;
 
+    // Bumped on every update; updated_at has only second precision, so ETags include this too
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // ===== Enums =====
     public enum Status { LOST, FOUND }
     public enum ContactMethod { EMAIL, PHONE, BOTH}
@@ -86,8 +111,11 @@ public class Post {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
-    public byte[] getPhotoUrl() { return photoUrl; }
-    public void setPhotoUrl(byte[] photoUrl) { this.photoUrl = photoUrl; }
+    public String getPhotoKey() { return photoKey; }
+    public void setPhotoKey(String photoKey) { this.photoKey = photoKey; }
+
+    public String getPhotoContentType() { return photoContentType; }
+    public void setPhotoContentType(String photoContentType) { this.photoContentType = photoContentType; }
 
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
@@ -109,4 +137,6 @@ public class Post {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public long getVersion() { return version; }
 }
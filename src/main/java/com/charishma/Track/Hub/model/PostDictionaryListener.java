@@ -0,0 +1,25 @@
+package com.charishma.Track.Hub.model;
+
+import com.charishma.Track.Hub.service.PostDictionary;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Registers a post's category and location in the PostDictionary before it is written,
+ * and replaces them with the stored spelling ("electronics " -> "Electronics").
+ */
+public class PostDictionaryListener {
+
+    private final PostDictionary dictionary;
+
+    public PostDictionaryListener(PostDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void register(Post post) {
+        post.setCategory(dictionary.register(PostDictionary.Kind.CATEGORY, post.getCategory()));
+        post.setLocation(dictionary.register(PostDictionary.Kind.LOCATION, post.getLocation()));
+    }
+}
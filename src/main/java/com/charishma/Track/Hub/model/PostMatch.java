@@ -0,0 +1,54 @@
+package com.charishma.Track.Hub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One stored lost-to-found match: `matchedPost` is a likely counterpart of `post`
+ * (opposite status), with a 0..1 score. Each post keeps only its top-K.
+ * Rows are derived data written in the background, so they carry no FK constraints:
+ * deleting a post removes its rows explicitly, and readers skip ids that no longer exist.
+ */
+@Entity
+@Table(name = "post_matches",
+       uniqueConstraints = @UniqueConstraint(name = "uk_post_matches_pair", columnNames = {"post_id", "matched_post_id"}),
+       indexes = @Index(name = "idx_post_matches_matched", columnList = "matched_post_id"))
+public class PostMatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Post post;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "matched_post_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Post matchedPost;
+
+    @Column(nullable = false)
+    private float score;
+
+    @Column(name = "created_at", columnDefinition = "DATETIME")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // getters / setters
+    public Long getId() { return id; }
+
+    public Post getPost() { return post; }
+    public void setPost(Post post) { this.post = post; }
+
+    public Post getMatchedPost() { return matchedPost; }
+    public void setMatchedPost(Post matchedPost) { this.matchedPost = matchedPost; }
+
+    public float getScore() { return score; }
+    public void setScore(float score) { this.score = score; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,54 @@
+package com.charishma.Track.Hub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A user's standing query: new posts matching every given criterion
+ * (all keywords, category, status) are emailed to the user.
+ */
+@Entity
+@Table(name = "saved_searches", indexes = @Index(name = "idx_saved_searches_user", columnList = "user_id"))
+public class SavedSearch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "query")
+    private String query;
+
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    private Post.Status status;
+
+    @Column(name = "created_at", columnDefinition = "DATETIME")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // getters / setters
+    public Long getId() { return id; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Post.Status getStatus() { return status; }
+    public void setStatus(Post.Status status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
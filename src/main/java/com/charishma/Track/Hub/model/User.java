@@ -1,10 +1,11 @@
 package com.charishma.Track.Hub.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_phone", columnList = "phone"))
 public class User {
 
     @Id
@@ -54,6 +55,15 @@ public class User {
     @Column(name = "email_verified", nullable = false, columnDefinition = "TINYINT(1) DEFAULT 0")
     private boolean emailVerified;
 
+    // Denormalized post counters, kept in step by PostService and repaired by UserStatsService
+    @ColumnDefault("0")
+    @Column(name = "items_posted", nullable = false)
+    private long itemsPosted;
+
+    @ColumnDefault("0")
+    @Column(name = "items_returned", nullable = false)
+    private long itemsReturned;
+
     // Getters & Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -84,4 +94,10 @@ public class User {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public long getItemsPosted() { return itemsPosted; }
+    public void setItemsPosted(long itemsPosted) { this.itemsPosted = itemsPosted; }
+
+    public long getItemsReturned() { return itemsReturned; }
+    public void setItemsReturned(long itemsReturned) { this.itemsReturned = itemsReturned; }
 }
@@ -2,6 +2,8 @@ package com.charishma.Track.Hub.repo;
 
 import com.charishma.Track.Hub.model.Claim;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,9 +19,12 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
     /**
      * Find all claims associated with a specific post.
      * @param postId the ID of the post
+     * Written out so the filter is on claims.post_id (index) rather than
+     * on a left-joined posts row, which is what the derived query produces.
      * @return list of claims related to that post
      */
-    List<Claim> findByPostId(Long postId);
+    @Query("select c from Claim c where c.post.id = :postId")
+    List<Claim> findByPostId(@Param("postId") Long postId);
 
     /**
      * Find all claims with a particular status (e.g., PENDING, APPROVED, REJECTED).
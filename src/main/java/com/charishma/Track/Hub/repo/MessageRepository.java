@@ -2,8 +2,12 @@ package com.charishma.Track.Hub.repo;
 
 import com.charishma.Track.Hub.model.Message;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    List<Message> findByPostId(Long postId);
+    // filters on messages.post_id (index); the derived query would go through a left join on posts
+    @Query("select m from Message m where m.post.id = :postId")
+    List<Message> findByPostId(@Param("postId") Long postId);
 }
@@ -1,9 +1,15 @@
 package com.charishma.Track.Hub.repo;
 
 import com.charishma.Track.Hub.model.Otp;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +20,28 @@ public interface OtpRepository extends JpaRepository<Otp, Long> {
 
     // Optional: by user id + purpose
     Optional<Otp> findTopByUserIdAndPurposeAndIsUsedFalseOrderByCreatedAtDesc(Long userId, String purpose);
+
+    // ✅ Id of the most recent non-used OTP for a phone + purpose (plain read, no row lock)
+    @Query("select o.id from Otp o where o.phone = :phone and o.purpose = :purpose and o.isUsed = false "
+            + "order by o.createdAt desc")
+    List<Long> findLatestUnusedIds(@Param("phone") String phone, @Param("purpose") String purpose, Pageable limit);
+
+    // ✅ Compare-and-set consumption: 1 if this call used the code up, 0 if it was already used,
+    // expired or did not match (concurrent callers serialize on the row; exactly one sees 1)
+    @Modifying
+    @Query("update Otp o set o.isUsed = true where o.id = :id and o.isUsed = false "
+            + "and o.expiresAt > :now and o.otpCode = :code")
+    int consume(@Param("id") Long id, @Param("code") String code, @Param("now") LocalDateTime now);
+
+    @Query("select max(o.id) from Otp o")
+    Long findLastId();
+
+    // Lowest id at or after `from` (purge walks the table in id ranges starting from here)
+    @Query("select min(o.id) from Otp o where o.id >= :from")
+    Long findFirstIdFrom(@Param("from") Long from);
+
+    // ✅ Delete used or expired OTPs with ids in [from, to); returns rows deleted
+    @Modifying
+    @Query("delete from Otp o where o.id >= :from and o.id < :to and (o.isUsed = true or o.expiresAt < :now)")
+    int purgeRange(@Param("from") Long from, @Param("to") Long to, @Param("now") LocalDateTime now);
 }
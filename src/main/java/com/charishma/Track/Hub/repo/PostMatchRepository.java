@@ -0,0 +1,21 @@
+package com.charishma.Track.Hub.repo;
+
+import com.charishma.Track.Hub.model.PostMatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PostMatchRepository extends JpaRepository<PostMatch, Long> {
+
+    // ✅ A post's stored matches, best first (matchedPost stays a lazy proxy; only its id is read)
+    @Query("select m from PostMatch m where m.post.id = :postId order by m.score desc, m.matchedPost.id desc")
+    List<PostMatch> findByPostIdOrderByScoreDesc(@Param("postId") Long postId);
+
+    // ✅ Drop every match a post takes part in, either side (before deleting or re-matching it)
+    @Modifying
+    @Query("delete from PostMatch m where m.post.id = :postId or m.matchedPost.id = :postId")
+    int deleteInvolving(@Param("postId") Long postId);
+}
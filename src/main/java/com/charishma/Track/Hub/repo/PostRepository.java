@@ -1,32 +1,129 @@
 package com.charishma.Track.Hub.repo;
 
+import com.charishma.Track.Hub.dto.PostResponse;
 import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.search.PostDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Entity finders that return lists fetch the owner in the same statement
+ * (@EntityGraph), so walking post.getUser() never costs one query per post.
+ */
 public interface PostRepository extends JpaRepository<Post, Long> {
 
-    // ✅ Get all posts by user
-    List<Post> findByUserId(Long userId);
+    // ✅ Single post with its owner in one join (detail, contact, claim);
+    // the owner carries its own posted/returned counters, so the detail page needs nothing else
+    @Query("select p from Post p join fetch p.user where p.id = :id")
+    Optional<Post> findWithUserById(@Param("id") Long id);
+
+    // ✅ Get all posts by user (explicit query: the derived one filters through a left join
+    // on users and scans posts instead of using the user_id index)
+    @Query("select p from Post p join fetch p.user where p.user.id = :userId")
+    List<Post> findByUserId(@Param("userId") Long userId);
 
     // ✅ Get all posts by status (e.g., "FOUND" or "LOST")
+    @EntityGraph(attributePaths = "user")
     List<Post> findByStatus(Post.Status status);
 
     // ✅ Search by category
+    @EntityGraph(attributePaths = "user")
     List<Post> findByCategory(String category);
 
     // ✅ Search by keyword in title/description
+    @EntityGraph(attributePaths = "user")
     List<Post> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String titleKeyword, String descriptionKeyword);
     
     // ✅ Get posts sorted by creation date (newest first) 
+    @EntityGraph(attributePaths = "user")
     List<Post> findAllByOrderByCreatedAtDesc();
 
-    // ✅ Get posts by location (e.g., "Library")
-    List<Post> findByLocationContainingIgnoreCase(String location);
+    // ✅ Get posts by location (e.g., "Library"); for a "contains" search pass
+    // PostDictionary.namesContaining(LOCATION, text), since locations are stored as ids
+    @EntityGraph(attributePaths = "user")
+    List<Post> findByLocationIn(Collection<String> locations);
     // count posts by user
     long countByUserId(Long userId);
     
     // count posts by user where isClaimed = true (i.e., returned)
     long countByUserIdAndIsClaimedTrue(Long userId);
 
+    /* ---------------------------------------------------------
+       List projections: scalar columns + photo key only.
+       No entity is materialized, so list cost does not depend on photo size
+       and the lazy user association is never touched.
+     --------------------------------------------------------- */
+    String RESPONSE_PROJECTION = "select new com.charishma.Track.Hub.dto.PostResponse("
+            + "p.id, p.user.id, p.title, p.description, p.location, p.category, "
+            + "p.status, p.contactPublic, p.additionalNotes, p.photoKey, p.createdAt) from Post p ";
+
+    @Query(RESPONSE_PROJECTION)
+    List<PostResponse> findAllResponses();
+
+    @Query(RESPONSE_PROJECTION + "order by p.createdAt desc")
+    List<PostResponse> findAllResponsesOrderByCreatedAtDesc();
+
+    @Query(RESPONSE_PROJECTION + "where p.user.id = :userId")
+    List<PostResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    /* ---------------------------------------------------------
+       Keyset pages on (created_at, id), newest first.
+       Pageable only carries the LIMIT (always page 0, never an OFFSET);
+       the range predicate keeps every page an index range scan.
+     --------------------------------------------------------- */
+    String KEYSET_AFTER = "p.createdAt <= :createdAt and (p.createdAt < :createdAt or p.id < :id) ";
+    String KEYSET_ORDER = "order by p.createdAt desc, p.id desc";
+
+    @Query(RESPONSE_PROJECTION + KEYSET_ORDER)
+    List<PostResponse> findFirstPage(Pageable limit);
+
+    @Query(RESPONSE_PROJECTION + "where " + KEYSET_AFTER + KEYSET_ORDER)
+    List<PostResponse> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable limit);
+
+    @Query(RESPONSE_PROJECTION + "where p.user.id = :userId " + KEYSET_ORDER)
+    List<PostResponse> findUserFirstPage(@Param("userId") Long userId, Pageable limit);
+
+    @Query(RESPONSE_PROJECTION + "where p.user.id = :userId and " + KEYSET_AFTER + KEYSET_ORDER)
+    List<PostResponse> findUserPageAfter(@Param("userId") Long userId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable limit);
+
+    // is a stored photo still referenced by any post?
+    boolean existsByPhotoKey(String photoKey);
+
+
+    // ✅ Searchable fields for in-memory index builds, in id batches (Pageable = LIMIT only)
+    @Query("select new com.charishma.Track.Hub.search.PostDocument(p.id, p.title, p.description, p.location, "
+            + "p.category, p.status, p.isClaimed, p.createdAt) from Post p where p.id > :afterId order by p.id")
+    List<PostDocument> findDocumentsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    // ✅ Warm start (IndexSnapshot): posts written since the snapshot stamp, in id batches
+    @Query("select new com.charishma.Track.Hub.search.PostDocument(p.id, p.title, p.description, p.location, "
+            + "p.category, p.status, p.isClaimed, p.createdAt) from Post p "
+            + "where p.updatedAt >= :since and p.id > :afterId order by p.id")
+    List<PostDocument> findDocumentsUpdatedSince(@Param("since") LocalDateTime since,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable limit);
+
+    // newest write, read off idx_posts_updated_at (snapshot stamp)
+    @Query("select max(p.updatedAt) from Post p")
+    LocalDateTime findLastUpdatedAt();
+
+    // ids only (primary key), to drop snapshot entries of posts deleted since
+    @Query("select p.id from Post p")
+    List<Long> findAllIds();
+
+    @Query(RESPONSE_PROJECTION + "where p.id in :ids")
+    List<PostResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
 }
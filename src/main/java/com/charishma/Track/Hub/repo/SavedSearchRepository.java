@@ -0,0 +1,25 @@
+package com.charishma.Track.Hub.repo;
+
+import com.charishma.Track.Hub.model.SavedSearch;
+import com.charishma.Track.Hub.search.SavedQuery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+
+    @Query("select s from SavedSearch s where s.user.id = :userId order by s.createdAt desc, s.id desc")
+    List<SavedSearch> findByUserId(@Param("userId") Long userId);
+
+    // ✅ Matched searches with their owners in one join (alert emails)
+    @Query("select s from SavedSearch s join fetch s.user where s.id in :ids")
+    List<SavedSearch> findWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ✅ Criteria for the percolator build, without touching users
+    @Query("select new com.charishma.Track.Hub.search.SavedQuery(s.id, s.user.id, s.query, s.category, s.status) "
+            + "from SavedSearch s")
+    List<SavedQuery> findAllQueries();
+}
@@ -2,6 +2,9 @@ package com.charishma.Track.Hub.repo;
 
 import com.charishma.Track.Hub.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -11,5 +14,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findById(Long id);
     Optional<User> findByEmailIgnoreCase(String email);
      Optional<User> findByPhone(String phone);
+
+    // ✅ Atomic counter adjustment (no read-modify-write race)
+    @Modifying
+    @Query("update User u set u.itemsPosted = u.itemsPosted + :posted, "
+            + "u.itemsReturned = u.itemsReturned + :returned, u.updatedAt = local datetime where u.id = :id")
+    int adjustPostStats(@Param("id") Long id, @Param("posted") long postedDelta, @Param("returned") long returnedDelta);
+
+    // ✅ Recompute counters from posts, touching only rows that drifted; returns rows repaired
+    @Modifying
+    @Query("update User u set "
+            + "u.itemsPosted = (select count(p) from Post p where p.user = u), "
+            + "u.itemsReturned = (select count(p) from Post p where p.user = u and p.isClaimed = true), "
+            + "u.updatedAt = local datetime "
+            + "where u.itemsPosted <> (select count(p) from Post p where p.user = u) "
+            + "or u.itemsReturned <> (select count(p) from Post p where p.user = u and p.isClaimed = true)")
+    int reconcilePostStats();
 }
 
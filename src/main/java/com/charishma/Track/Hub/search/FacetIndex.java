@@ -0,0 +1,319 @@
+package com.charishma.Track.Hub.search;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory facet index: one BitSet per (dimension, value) over document slots.
+ * - Filters OR within a dimension and AND across dimensions, plus a createdAt range
+ * - Facet counts are disjunctive: each dimension is counted with every filter applied
+ *   except its own, so the other values of a selected dimension stay visible
+ * - Results come newest first (createdAt, then id) with an (createdAt, id) cursor
+ */
+public class FacetIndex {
+
+    public static final String STATUS = "status";
+    public static final String CATEGORY = "category";
+    public static final String LOCATION = "location";
+    public static final String CLAIMED = "claimed";
+
+    private static final List<String> DIMENSIONS = List.of(STATUS, CATEGORY, LOCATION, CLAIMED);
+
+    // Filter criteria; empty value sets mean "any"
+    public static class Query {
+        private final Map<String, Set<String>> filters = new HashMap<>();
+        private LocalDateTime from; // inclusive
+        private LocalDateTime to;   // exclusive
+        private LocalDateTime afterCreatedAt;
+        private Long afterId;
+
+        public Query where(String dimension, Collection<String> values) {
+            if (values == null) return this;
+            Set<String> normalized = new HashSet<>();
+            for (String v : values) {
+                String n = normalize(v);
+                if (n != null) normalized.add(n);
+            }
+            if (!normalized.isEmpty()) filters.put(dimension, normalized);
+            return this;
+        }
+
+        public Query createdBetween(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+            return this;
+        }
+
+        public Query after(LocalDateTime createdAt, Long id) {
+            this.afterCreatedAt = createdAt;
+            this.afterId = id;
+            return this;
+        }
+    }
+
+    // One page of ids plus facet counts over the whole filtered set
+    public static class Result {
+        private final List<Long> ids;
+        private final int total;
+        private final Map<String, Map<String, Integer>> facets;
+        private final LocalDateTime lastCreatedAt;
+        private final Long lastId;
+        private final boolean hasMore;
+
+        Result(List<Long> ids, int total, Map<String, Map<String, Integer>> facets,
+               LocalDateTime lastCreatedAt, Long lastId, boolean hasMore) {
+            this.ids = ids;
+            this.total = total;
+            this.facets = facets;
+            this.lastCreatedAt = lastCreatedAt;
+            this.lastId = lastId;
+            this.hasMore = hasMore;
+        }
+
+        public List<Long> getIds() { return ids; }
+        public int getTotal() { return total; }
+        public Map<String, Map<String, Integer>> getFacets() { return facets; }
+        public LocalDateTime getLastCreatedAt() { return lastCreatedAt; }
+        public Long getLastId() { return lastId; }
+        public boolean isHasMore() { return hasMore; }
+    }
+
+    private final Map<String, Map<String, BitSet>> bitmaps = new HashMap<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private long[] slotIds = new long[1024];
+    private LocalDateTime[] slotCreatedAt = new LocalDateTime[1024];
+    private String[][] slotValues = new String[1024][];
+    private int slotCount;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public FacetIndex() {
+        for (String dimension : DIMENSIONS) bitmaps.put(dimension, new HashMap<>());
+    }
+
+    /* ---------------------------------------------------------
+       Writes
+     --------------------------------------------------------- */
+    public void put(PostDocument doc) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc.getId());
+            addLocked(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean putIfAbsent(PostDocument doc) {
+        lock.writeLock().lock();
+        try {
+            if (slotById.containsKey(doc.getId())) return false;
+            addLocked(doc);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(PostDocument doc) {
+        int slot = freeSlots.isEmpty() ? nextSlot() : freeSlots.pop();
+        String[] values = {
+                doc.getStatus() != null ? normalize(doc.getStatus().name()) : null,
+                normalize(doc.getCategory()),
+                normalize(doc.getLocation()),
+                String.valueOf(doc.isClaimed())
+        };
+        for (int d = 0; d < DIMENSIONS.size(); d++) {
+            if (values[d] == null) continue;
+            bitmaps.get(DIMENSIONS.get(d)).computeIfAbsent(values[d], v -> new BitSet()).set(slot);
+        }
+        slotIds[slot] = doc.getId();
+        slotCreatedAt[slot] = doc.getCreatedAt();
+        slotValues[slot] = values;
+        slotById.put(doc.getId(), slot);
+        live.set(slot);
+    }
+
+    private void removeLocked(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) return;
+        String[] values = slotValues[slot];
+        for (int d = 0; d < DIMENSIONS.size(); d++) {
+            if (values[d] == null) continue;
+            Map<String, BitSet> byValue = bitmaps.get(DIMENSIONS.get(d));
+            BitSet bits = byValue.get(values[d]);
+            bits.clear(slot);
+            if (bits.isEmpty()) byValue.remove(values[d]);
+        }
+        live.clear(slot);
+        slotValues[slot] = null;
+        slotCreatedAt[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    private int nextSlot() {
+        if (slotCount == slotIds.length) {
+            int capacity = slotIds.length * 2;
+            slotIds = Arrays.copyOf(slotIds, capacity);
+            slotCreatedAt = Arrays.copyOf(slotCreatedAt, capacity);
+            slotValues = Arrays.copyOf(slotValues, capacity);
+        }
+        return slotCount++;
+    }
+
+    /* ---------------------------------------------------------
+       Query
+     --------------------------------------------------------- */
+    public Result query(Query query, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet range = rangeMask(query);
+            Map<String, BitSet> dimensionMasks = new HashMap<>();
+            for (Map.Entry<String, Set<String>> e : query.filters.entrySet()) {
+                BitSet mask = new BitSet();
+                Map<String, BitSet> byValue = bitmaps.getOrDefault(e.getKey(), Map.of());
+                for (String value : e.getValue()) {
+                    BitSet bits = byValue.get(value);
+                    if (bits != null) mask.or(bits);
+                }
+                dimensionMasks.put(e.getKey(), mask);
+            }
+
+            BitSet matches = (BitSet) range.clone();
+            dimensionMasks.values().forEach(matches::and);
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            for (String dimension : DIMENSIONS) {
+                // all filters except this dimension's own
+                BitSet base = matches;
+                if (dimensionMasks.containsKey(dimension)) {
+                    base = (BitSet) range.clone();
+                    for (Map.Entry<String, BitSet> e : dimensionMasks.entrySet()) {
+                        if (!e.getKey().equals(dimension)) base.and(e.getValue());
+                    }
+                }
+                Map<String, Integer> counts = new TreeMap<>();
+                for (Map.Entry<String, BitSet> e : bitmaps.get(dimension).entrySet()) {
+                    BitSet both = (BitSet) e.getValue().clone();
+                    both.and(base);
+                    int count = both.cardinality();
+                    if (count > 0) counts.put(e.getKey(), count);
+                }
+                facets.put(dimension, counts);
+            }
+
+            return page(matches, query, limit, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet rangeMask(Query query) {
+        BitSet mask = (BitSet) live.clone();
+        if (query.from == null && query.to == null) return mask;
+        for (int slot = mask.nextSetBit(0); slot >= 0; slot = mask.nextSetBit(slot + 1)) {
+            LocalDateTime created = slotCreatedAt[slot];
+            boolean in = created != null
+                    && (query.from == null || !created.isBefore(query.from))
+                    && (query.to == null || created.isBefore(query.to));
+            if (!in) mask.clear(slot);
+        }
+        return mask;
+    }
+
+    // newest `limit` matches after the cursor, via a bounded heap whose root is the oldest kept
+    private Result page(BitSet matches, Query query, int limit, Map<String, Map<String, Integer>> facets) {
+        int total = matches.cardinality();
+        int[] heap = new int[limit + 1];
+        int heapSize = 0;
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            if (query.afterCreatedAt != null && !olderThanCursor(slot, query)) continue;
+            if (heapSize < heap.length) {
+                heap[heapSize] = slot;
+                siftUp(heap, heapSize++);
+            } else if (newer(slot, heap[0])) {
+                heap[0] = slot;
+                siftDown(heap, heapSize);
+            }
+        }
+        int[] ordered = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            ordered[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize);
+        }
+        boolean hasMore = ordered.length > limit;
+        int size = Math.min(limit, ordered.length);
+        List<Long> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) ids.add(slotIds[ordered[i]]);
+        int last = size > 0 ? ordered[size - 1] : -1;
+        return new Result(ids, total, facets,
+                last >= 0 ? slotCreatedAt[last] : null, last >= 0 ? slotIds[last] : null, hasMore);
+    }
+
+    private boolean olderThanCursor(int slot, Query query) {
+        int c = compareCreated(slotCreatedAt[slot], query.afterCreatedAt);
+        return c < 0 || (c == 0 && slotIds[slot] < query.afterId);
+    }
+
+    private boolean newer(int a, int b) {
+        int c = compareCreated(slotCreatedAt[a], slotCreatedAt[b]);
+        return c != 0 ? c > 0 : slotIds[a] > slotIds[b];
+    }
+
+    private static int compareCreated(LocalDateTime a, LocalDateTime b) {
+        if (a == null || b == null) return a == null ? (b == null ? 0 : -1) : 1;
+        return a.compareTo(b);
+    }
+
+    private void siftUp(int[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!newer(heap[parent], heap[i])) break;
+            int t = heap[parent]; heap[parent] = heap[i]; heap[i] = t;
+            i = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int oldest = left;
+            int right = left + 1;
+            if (right < size && newer(heap[left], heap[right])) oldest = right;
+            if (!newer(heap[i], heap[oldest])) break;
+            int t = heap[i]; heap[i] = heap[oldest]; heap[oldest] = t;
+            i = oldest;
+        }
+    }
+
+    // "  Main   Gate " -> "main gate"
+    public static String normalize(String value) {
+        if (value == null) return null;
+        String n = value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return n.isEmpty() ? null : n;
+    }
+}
@@ -0,0 +1,200 @@
+package com.charishma.Track.Hub.search;
+
+import com.charishma.Track.Hub.model.Post;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of the documents behind the in-memory indexes, for warm restarts.
+ * - Holds documents (not index structures), so a reload re-analyzes them with the current code
+ * - Stamped with the newest posts.updated_at and the highest id it covers; a restart loads the
+ *   file and only replays posts changed since the stamp
+ * - Written through one buffered FileChannel to a temp file, then renamed over the old one;
+ *   read through a memory-mapped buffer. A CRC32 trailer rejects torn or foreign files.
+ *
+ * Layout: magic, format version, stamp, count, documents, crc32 (big-endian throughout).
+ */
+public class IndexSnapshot {
+
+    private static final int MAGIC = 0x54484958; // "THIX"
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final LocalDateTime lastUpdatedAt;
+    private final long maxId;
+    private final List<PostDocument> documents;
+
+    public IndexSnapshot(LocalDateTime lastUpdatedAt, long maxId, List<PostDocument> documents) {
+        this.lastUpdatedAt = lastUpdatedAt;
+        this.maxId = maxId;
+        this.documents = documents;
+    }
+
+    // newest posts.updated_at when the snapshot was taken (null for an empty table)
+    public LocalDateTime getLastUpdatedAt() { return lastUpdatedAt; }
+    public long getMaxId() { return maxId; }
+    public List<PostDocument> getDocuments() { return documents; }
+
+    /* ---------------------------------------------------------
+       Write
+     --------------------------------------------------------- */
+    public static void write(Path file, LocalDateTime lastUpdatedAt, long maxId,
+                             Collection<PostDocument> documents) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Output out = new Output(channel);
+            out.putInt(MAGIC);
+            out.putInt(FORMAT_VERSION);
+            out.putTime(lastUpdatedAt);
+            out.putLong(maxId);
+            out.putInt(documents.size());
+            for (PostDocument doc : documents) {
+                out.putLong(doc.getId());
+                out.putByte(doc.getStatus() == null ? 0 : doc.getStatus().ordinal() + 1);
+                out.putByte(doc.isClaimed() ? 1 : 0);
+                out.putTime(doc.getCreatedAt());
+                out.putString(doc.getTitle());
+                out.putString(doc.getDescription());
+                out.putString(doc.getLocation());
+                out.putString(doc.getCategory());
+            }
+            out.finish();
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Buffered writer that checksums everything it flushes
+    private static class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CRC32 crc = new CRC32();
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putByte(int b) throws IOException { ensure(1); buffer.put((byte) b); }
+        void putInt(int v) throws IOException { ensure(4); buffer.putInt(v); }
+        void putLong(long v) throws IOException { ensure(8); buffer.putLong(v); }
+
+        void putTime(LocalDateTime t) throws IOException {
+            ensure(12);
+            if (t == null) {
+                buffer.putLong(NO_TIME).putInt(0);
+            } else {
+                buffer.putLong(t.toEpochSecond(ZoneOffset.UTC)).putInt(t.getNano());
+            }
+        }
+
+        void putString(String s) throws IOException {
+            if (s == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            int at = 0;
+            while (at < bytes.length) {
+                ensure(1);
+                int n = Math.min(buffer.remaining(), bytes.length - at);
+                buffer.put(bytes, at, n);
+                at += n;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        void finish() throws IOException {
+            flush();
+            buffer.putLong(crc.getValue()).flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    /* ---------------------------------------------------------
+       Read
+     --------------------------------------------------------- */
+    // ✅ Throws IOException for a missing, truncated, corrupt or older-format file
+    public static IndexSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 8 + 8 || size > Integer.MAX_VALUE) throw new IOException("Not an index snapshot: " + file);
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            CRC32 crc = new CRC32();
+            crc.update(in.duplicate().limit((int) size - 8));
+            if (in.getLong((int) size - 8) != crc.getValue()) throw new IOException("Checksum mismatch: " + file);
+            in.limit((int) size - 8);
+
+            if (in.getInt() != MAGIC) throw new IOException("Not an index snapshot: " + file);
+            int version = in.getInt();
+            if (version != FORMAT_VERSION) throw new IOException("Unsupported snapshot format " + version + ": " + file);
+            LocalDateTime lastUpdatedAt = getTime(in);
+            long maxId = in.getLong();
+            int count = in.getInt();
+
+            Post.Status[] statuses = Post.Status.values();
+            List<PostDocument> documents = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = in.getLong();
+                int status = in.get();
+                boolean claimed = in.get() != 0;
+                LocalDateTime createdAt = getTime(in);
+                String title = getString(in);
+                String description = getString(in);
+                String location = getString(in);
+                String category = getString(in);
+                documents.add(new PostDocument(id, title, description, location, category,
+                        status == 0 ? null : statuses[status - 1], claimed, createdAt));
+            }
+            return new IndexSnapshot(lastUpdatedAt, maxId, documents);
+        } catch (RuntimeException ex) {
+            // BufferUnderflow / bad enum ordinal: a file the checksum happened to accept
+            throw new IOException("Unreadable index snapshot: " + file, ex);
+        }
+    }
+
+    private static LocalDateTime getTime(ByteBuffer in) {
+        long seconds = in.getLong();
+        int nanos = in.getInt();
+        if (seconds == NO_TIME) return null;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,343 @@
+package com.charishma.Track.Hub.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory inverted index with BM25 ranking, keyed by post id.
+ * - Documents are term -> frequency maps (callers decide field boosts)
+ * - Postings are parallel int arrays (slot, tf); a slot is a reusable document number
+ * - put / remove are incremental; searches run under a read lock, writes under a write lock
+ * - The term vocabulary is also trigram-indexed for fuzzy (typo-tolerant) queries
+ */
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float SPLIT_WEIGHT = 0.9f;
+
+    // One ranked result
+    public static class Hit {
+        private final long id;
+        private final float score;
+
+        public Hit(long id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public long getId() { return id; }
+        public float getScore() { return score; }
+    }
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final TrigramIndex vocabulary = new TrigramIndex();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private long[] slotIds = new long[1024];
+    private int[] slotLengths = new int[1024];
+    private String[][] slotTerms = new String[1024][];
+    private int slotCount;
+    private long totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Per-thread score accumulators, reset after each query (no 100k-float allocation per search)
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /* ---------------------------------------------------------
+       Writes
+     --------------------------------------------------------- */
+    // ✅ Add or replace a document
+    public void put(long id, Map<String, Integer> termFreqs) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            addLocked(id, termFreqs);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add only if the id is not indexed yet (bulk loads must not overwrite fresher writes)
+    public boolean putIfAbsent(long id, Map<String, Integer> termFreqs) {
+        lock.writeLock().lock();
+        try {
+            if (slotById.containsKey(id)) return false;
+            addLocked(id, termFreqs);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            vocabulary.clear();
+            slotById.clear();
+            freeSlots.clear();
+            slotIds = new long[1024];
+            slotLengths = new int[1024];
+            slotTerms = new String[1024][];
+            slotCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(long id, Map<String, Integer> termFreqs) {
+        int slot = freeSlots.isEmpty() ? nextSlot() : freeSlots.pop();
+        int length = 0;
+        String[] terms = new String[termFreqs.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> e : termFreqs.entrySet()) {
+            String term = e.getKey();
+            int tf = e.getValue();
+            Postings p = postings.get(term);
+            if (p == null) {
+                p = new Postings();
+                postings.put(term, p);
+                vocabulary.add(term);
+            }
+            p.add(slot, tf);
+            terms[i++] = term;
+            length += tf;
+        }
+        slotIds[slot] = id;
+        slotLengths[slot] = length;
+        slotTerms[slot] = terms;
+        slotById.put(id, slot);
+        totalLength += length;
+    }
+
+    private void removeLocked(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) return;
+        for (String term : slotTerms[slot]) {
+            Postings p = postings.get(term);
+            if (p != null && p.remove(slot) && p.size == 0) {
+                postings.remove(term);
+                vocabulary.remove(term);
+            }
+        }
+        totalLength -= slotLengths[slot];
+        slotTerms[slot] = null;
+        slotLengths[slot] = 0;
+        freeSlots.push(slot);
+    }
+
+    private int nextSlot() {
+        if (slotCount == slotIds.length) {
+            int capacity = slotIds.length * 2;
+            slotIds = Arrays.copyOf(slotIds, capacity);
+            slotLengths = Arrays.copyOf(slotLengths, capacity);
+            slotTerms = Arrays.copyOf(slotTerms, capacity);
+        }
+        return slotCount++;
+    }
+
+    /* ---------------------------------------------------------
+       Search
+     --------------------------------------------------------- */
+    // ✅ OR query ranked by BM25; ties go to the newer (higher) id
+    public List<Hit> search(Collection<String> queryTerms, int limit) {
+        return search(queryTerms, limit, null);
+    }
+
+    // ✅ Same, restricted to ids accepted by `accept` (checked before ranking, so rejected
+    // documents never take a place in the top `limit`)
+    public List<Hit> search(Collection<String> queryTerms, int limit, LongPredicate accept) {
+        Map<String, Float> weights = new LinkedHashMap<>();
+        for (String term : queryTerms) weights.put(term, 1f);
+        lock.readLock().lock();
+        try {
+            return searchLocked(weights, limit, accept);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ✅ Typo-tolerant variant: each query term also matches close vocabulary terms
+    // (weighted by similarity), adjacent terms are tried joined ("ear pods" -> "earpod")
+    // and long terms split in two ("earpods" -> "ear" + "pod")
+    public List<Hit> searchFuzzy(List<String> queryTerms, int limit) {
+        lock.readLock().lock();
+        try {
+            return searchLocked(expand(queryTerms), limit, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Float> expand(List<String> queryTerms) {
+        Map<String, Float> weights = new LinkedHashMap<>();
+        for (int i = 0; i < queryTerms.size(); i++) {
+            String term = queryTerms.get(i);
+            weights.merge(term, 1f, Math::max);
+            vocabulary.similar(term).forEach((similar, score) -> weights.merge(similar, score, Math::max));
+
+            if (i + 1 < queryTerms.size()) {
+                String joined = term + queryTerms.get(i + 1);
+                if (postings.containsKey(joined)) weights.merge(joined, 1f, Math::max);
+            }
+            for (int cut = 3; cut <= term.length() - 3; cut++) {
+                String left = term.substring(0, cut);
+                String right = term.substring(cut);
+                if (postings.containsKey(left) && postings.containsKey(right)) {
+                    weights.merge(left, SPLIT_WEIGHT, Math::max);
+                    weights.merge(right, SPLIT_WEIGHT, Math::max);
+                }
+            }
+        }
+        return weights;
+    }
+
+    private List<Hit> searchLocked(Map<String, Float> weightedTerms, int limit, LongPredicate accept) {
+        int docs = slotById.size();
+        if (docs == 0 || limit <= 0) return List.of();
+        float avgLength = Math.max(1f, (float) totalLength / docs);
+
+        Scratch scratch = SCRATCH.get().ensure(slotCount);
+        float[] scores = scratch.scores;
+        int[] touched = scratch.touched;
+        int touchedCount = 0;
+        for (Map.Entry<String, Float> e : weightedTerms.entrySet()) {
+            Postings p = postings.get(e.getKey());
+            if (p == null) continue;
+            float idf = e.getValue() * (float) Math.log(1 + (docs - p.size + 0.5) / (p.size + 0.5));
+            for (int i = 0; i < p.size; i++) {
+                int slot = p.slots[i];
+                int tf = p.tfs[i];
+                float norm = K1 * (1 - B + B * slotLengths[slot] / avgLength);
+                if (scores[slot] == 0f) {
+                    if (touchedCount == touched.length) touched = scratch.touched = Arrays.copyOf(touched, touchedCount * 2);
+                    touched[touchedCount++] = slot;
+                }
+                scores[slot] += idf * tf * (K1 + 1) / (tf + norm);
+            }
+        }
+
+        // bounded min-heap of slots (primitive, no boxing) keeps the best `limit`
+        int[] heap = new int[Math.min(limit, touchedCount)];
+        int heapSize = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int slot = touched[i];
+            if (accept != null && !accept.test(slotIds[slot])) continue;
+            if (heapSize < heap.length) {
+                heap[heapSize] = slot;
+                siftUp(heap, heapSize++, scores);
+            } else if (better(slot, heap[0], scores)) {
+                heap[0] = slot;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+        Hit[] hits = new Hit[heapSize];
+        while (heapSize > 0) {
+            int slot = heap[0];
+            hits[heapSize - 1] = new Hit(slotIds[slot], scores[slot]);
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, scores);
+        }
+        for (int i = 0; i < touchedCount; i++) scores[touched[i]] = 0f;
+        return Arrays.asList(hits);
+    }
+
+    // higher score wins; ties go to the higher id
+    private boolean better(int a, int b, float[] scores) {
+        if (scores[a] != scores[b]) return scores[a] > scores[b];
+        return slotIds[a] > slotIds[b];
+    }
+
+    private void siftUp(int[] heap, int i, float[] scores) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(heap[parent], heap[i], scores)) break;
+            int t = heap[parent]; heap[parent] = heap[i]; heap[i] = t;
+            i = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size, float[] scores) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(heap[left], heap[right], scores)) worst = right;
+            if (!better(heap[i], heap[worst], scores)) break;
+            int t = heap[i]; heap[i] = heap[worst]; heap[worst] = t;
+            i = worst;
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return slotById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static class Scratch {
+        float[] scores = new float[0];
+        int[] touched = new int[64];
+
+        Scratch ensure(int slots) {
+            if (scores.length < slots) scores = new float[Math.max(slots, scores.length * 2)];
+            return this;
+        }
+    }
+
+    // Growable (slot, tf) pairs for one term; removal is a linear scan + swap with the last entry
+    private static class Postings {
+        int[] slots = new int[4];
+        int[] tfs = new int[4];
+        int size;
+
+        void add(int slot, int tf) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            slots[size] = slot;
+            tfs[size] = tf;
+            size++;
+        }
+
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    tfs[i] = tfs[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
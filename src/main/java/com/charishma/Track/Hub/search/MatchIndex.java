@@ -0,0 +1,142 @@
+package com.charishma.Track.Hub.search;
+
+import com.charishma.Track.Hub.model.Post;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Candidate index for lost-to-found matching.
+ * - One InvertedIndex per status; a post is only ever looked up in the opposite status
+ * - Documents hold their text terms plus category / location tokens, so one lookup retrieves
+ *   the candidates sharing any of them; the time window is applied before ranking
+ * - Retrieved candidates are rescored on category, location and text overlap (0..1)
+ * Claimed (resolved) posts are neither indexed nor matched.
+ */
+public class MatchIndex {
+
+    static final float TEXT_WEIGHT = 0.45f;
+    static final float CATEGORY_WEIGHT = 0.30f;
+    static final float LOCATION_WEIGHT = 0.25f;
+    private static final int CANDIDATES = 200;
+    private static final String CATEGORY_TOKEN = "category:";
+    private static final String LOCATION_TOKEN = "location:";
+
+    // One scored candidate
+    public static class Match {
+        private final long id;
+        private final float score;
+
+        public Match(long id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public long getId() { return id; }
+        public float getScore() { return score; }
+    }
+
+    private static class Entry {
+        final Post.Status status;
+        final String category;
+        final Set<String> location;
+        final Set<String> text;
+        final LocalDateTime createdAt;
+
+        Entry(PostDocument doc) {
+            this.status = doc.getStatus();
+            this.category = FacetIndex.normalize(doc.getCategory());
+            this.location = new HashSet<>(TextAnalyzer.analyze(doc.getLocation()));
+            this.text = new HashSet<>(TextAnalyzer.analyze(doc.getTitle()));
+            this.text.addAll(TextAnalyzer.analyze(doc.getDescription()));
+            this.createdAt = doc.getCreatedAt();
+        }
+
+        Map<String, Integer> terms() {
+            Map<String, Integer> tf = new HashMap<>();
+            text.forEach(t -> tf.put(t, 1));
+            if (category != null) tf.put(CATEGORY_TOKEN + category, 1);
+            location.forEach(t -> tf.put(LOCATION_TOKEN + t, 1));
+            return tf;
+        }
+    }
+
+    private final Map<Post.Status, InvertedIndex> byStatus = new EnumMap<>(Post.Status.class);
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public MatchIndex() {
+        for (Post.Status status : Post.Status.values()) byStatus.put(status, new InvertedIndex());
+    }
+
+    /* ---------------------------------------------------------
+       Writes
+     --------------------------------------------------------- */
+    // ✅ Add or replace a post (a claimed post or one without status is just removed)
+    public void put(PostDocument doc) {
+        remove(doc.getId());
+        if (doc.getStatus() == null || doc.isClaimed()) return;
+        Entry entry = new Entry(doc);
+        entries.put(doc.getId(), entry);
+        byStatus.get(entry.status).put(doc.getId(), entry.terms());
+    }
+
+    public void remove(long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) byStatus.get(previous.status).remove(id);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /* ---------------------------------------------------------
+       Matching
+     --------------------------------------------------------- */
+    // ✅ Best `limit` opposite-status posts created within `window` of the post, scoring at least `minScore`
+    public List<Match> match(PostDocument doc, Duration window, int limit, float minScore) {
+        if (doc.getStatus() == null || doc.isClaimed()) return List.of();
+        Entry probe = new Entry(doc);
+        InvertedIndex candidates = byStatus.get(opposite(probe.status));
+
+        List<InvertedIndex.Hit> hits = candidates.search(probe.terms().keySet(), CANDIDATES, id -> {
+            Entry e = entries.get(id);
+            return e != null && withinWindow(probe.createdAt, e.createdAt, window);
+        });
+
+        List<Match> matches = new ArrayList<>();
+        for (InvertedIndex.Hit hit : hits) {
+            Entry candidate = entries.get(hit.getId());
+            if (candidate == null) continue;
+            float score = score(probe, candidate);
+            if (score >= minScore) matches.add(new Match(hit.getId(), score));
+        }
+        matches.sort(Comparator.comparingDouble(Match::getScore).reversed()
+                .thenComparing(Comparator.comparingLong(Match::getId).reversed()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    static float score(Entry a, Entry b) {
+        float category = a.category != null && a.category.equals(b.category) ? 1f : 0f;
+        return TEXT_WEIGHT * jaccard(a.text, b.text)
+                + CATEGORY_WEIGHT * category
+                + LOCATION_WEIGHT * jaccard(a.location, b.location);
+    }
+
+    private static float jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) return 0f;
+        int shared = 0;
+        for (String t : a) if (b.contains(t)) shared++;
+        return (float) shared / (a.size() + b.size() - shared);
+    }
+
+    private static boolean withinWindow(LocalDateTime a, LocalDateTime b, Duration window) {
+        if (a == null || b == null) return true;
+        return Duration.between(a, b).abs().compareTo(window) <= 0;
+    }
+
+    public static Post.Status opposite(Post.Status status) {
+        return status == Post.Status.LOST ? Post.Status.FOUND : Post.Status.LOST;
+    }
+}
@@ -0,0 +1,138 @@
+package com.charishma.Track.Hub.search;
+
+import com.charishma.Track.Hub.model.Post;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reverse index of saved searches: given a new post, finds the searches it satisfies.
+ * - Each search is filed under a single anchor token: its longest keyword (longer words are
+ *   rarer), else its category, else its status
+ * - A post probes only the buckets of its own tokens, then each candidate is checked in full
+ *   (every keyword present, category and status equal); searches anchored on words the post
+ *   does not contain are never looked at, so cost does not grow with the number of searches
+ */
+public class Percolator {
+
+    private static final String CATEGORY_TOKEN = "category:";
+    private static final String STATUS_TOKEN = "status:";
+
+    private static class Entry {
+        final long id;
+        final Long userId;
+        final Set<String> keywords;
+        final String category;
+        final Post.Status status;
+        final String anchor;
+
+        Entry(SavedQuery query) {
+            this.id = query.getId();
+            this.userId = query.getUserId();
+            this.keywords = new LinkedHashSet<>(TextAnalyzer.analyze(query.getQuery()));
+            this.category = FacetIndex.normalize(query.getCategory());
+            this.status = query.getStatus();
+            this.anchor = anchorOf(keywords, category, status);
+        }
+
+        boolean matches(Set<String> terms, String postCategory, Post.Status postStatus) {
+            if (status != null && status != postStatus) return false;
+            if (category != null && !category.equals(postCategory)) return false;
+            return terms.containsAll(keywords);
+        }
+    }
+
+    private final Map<String, List<Entry>> byAnchor = new HashMap<>();
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /* ---------------------------------------------------------
+       Writes
+     --------------------------------------------------------- */
+    // ✅ Add or replace; returns false (nothing filed) for a query without any criterion
+    public boolean put(SavedQuery query) {
+        Entry entry = new Entry(query);
+        lock.writeLock().lock();
+        try {
+            removeLocked(entry.id);
+            if (entry.anchor == null) return false;
+            byAnchor.computeIfAbsent(entry.anchor, a -> new ArrayList<>()).add(entry);
+            byId.put(entry.id, entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Entry entry = byId.remove(id);
+        if (entry == null) return;
+        List<Entry> bucket = byAnchor.get(entry.anchor);
+        bucket.remove(entry);
+        if (bucket.isEmpty()) byAnchor.remove(entry.anchor);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* ---------------------------------------------------------
+       Percolate
+     --------------------------------------------------------- */
+    // ✅ Ids of the saved searches the post satisfies (the poster's own searches excluded)
+    public List<Long> percolate(PostDocument doc, Long ownerId) {
+        Set<String> terms = new HashSet<>();
+        terms.addAll(TextAnalyzer.analyze(doc.getTitle()));
+        terms.addAll(TextAnalyzer.analyze(doc.getDescription()));
+        terms.addAll(TextAnalyzer.analyze(doc.getLocation()));
+        terms.addAll(TextAnalyzer.analyze(doc.getCategory()));
+        String category = FacetIndex.normalize(doc.getCategory());
+
+        List<String> probes = new ArrayList<>(terms.size() + 2);
+        probes.addAll(terms);
+        if (category != null) probes.add(CATEGORY_TOKEN + category);
+        if (doc.getStatus() != null) probes.add(STATUS_TOKEN + doc.getStatus().name());
+
+        List<Long> matched = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String probe : probes) {
+                List<Entry> bucket = byAnchor.get(probe);
+                if (bucket == null) continue;
+                for (Entry e : bucket) {
+                    if (ownerId != null && ownerId.equals(e.userId)) continue;
+                    if (e.matches(terms, category, doc.getStatus())) matched.add(e.id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matched;
+    }
+
+    private static String anchorOf(Set<String> keywords, String category, Post.Status status) {
+        String longest = null;
+        for (String k : keywords) {
+            if (longest == null || k.length() > longest.length()) longest = k;
+        }
+        if (longest != null) return longest;
+        if (category != null) return CATEGORY_TOKEN + category;
+        if (status != null) return STATUS_TOKEN + status.name();
+        return null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.charishma.Track.Hub.search;
+
+import com.charishma.Track.Hub.model.Post;
+
+import java.time.LocalDateTime;
+
+/**
+ * The searchable fields of a post, as held by the in-memory indexes.
+ * Loaded with a JPQL constructor projection for bulk (re)builds, or taken from a saved entity.
+ */
+public class PostDocument {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String location;
+    private final String category;
+    private final Post.Status status;
+    private final boolean claimed;
+    private final LocalDateTime createdAt;
+
+    public PostDocument(Long id, String title, String description, String location, String category,
+                        Post.Status status, Boolean claimed, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.location = location;
+        this.category = category;
+        this.status = status;
+        this.claimed = Boolean.TRUE.equals(claimed);
+        this.createdAt = createdAt;
+    }
+
+    public static PostDocument of(Post post) {
+        return new PostDocument(post.getId(), post.getTitle(), post.getDescription(), post.getLocation(),
+                post.getCategory(), post.getStatus(), post.getIsClaimed(), post.getCreatedAt());
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getLocation() { return location; }
+    public String getCategory() { return category; }
+    public Post.Status getStatus() { return status; }
+    public boolean isClaimed() { return claimed; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,36 @@
+package com.charishma.Track.Hub.search;
+
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.SavedSearch;
+
+/**
+ * The matching criteria of a saved search, as held by the Percolator.
+ * Loaded with a JPQL constructor projection for the startup build, or taken from a saved entity.
+ */
+public class SavedQuery {
+
+    private final Long id;
+    private final Long userId;
+    private final String query;
+    private final String category;
+    private final Post.Status status;
+
+    public SavedQuery(Long id, Long userId, String query, String category, Post.Status status) {
+        this.id = id;
+        this.userId = userId;
+        this.query = query;
+        this.category = category;
+        this.status = status;
+    }
+
+    public static SavedQuery of(SavedSearch search) {
+        return new SavedQuery(search.getId(), search.getUser() != null ? search.getUser().getId() : null,
+                search.getQuery(), search.getCategory(), search.getStatus());
+    }
+
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public String getQuery() { return query; }
+    public String getCategory() { return category; }
+    public Post.Status getStatus() { return status; }
+}
@@ -0,0 +1,287 @@
+package com.charishma.Track.Hub.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix autocomplete over post titles, categories and locations.
+ * - A phrase is one normalized field value; its weight is the number of live posts using it
+ * - Every word-start suffix of a phrase is a trie key ("blue water bottle" is reachable from
+ *   "blu", "wat" and "bot"), cut at MAX_KEY_LENGTH characters
+ * - Each node keeps the top-K phrases of its subtree, so a lookup is a walk down the prefix
+ *   plus a copy of that node's list; an add promotes the phrase in O(K) per node on its paths,
+ *   a removal recomputes only the nodes on its paths (deepest first)
+ */
+public class SuggestIndex {
+
+    public static final int TOP_K = 10;
+    static final int MAX_KEY_LENGTH = 20;
+    private static final int MIN_SUFFIX_LENGTH = 2;
+
+    public enum Field { TITLE, CATEGORY, LOCATION }
+
+    // One completion
+    public static class Suggestion {
+        private final String text;
+        private final Field field;
+        private final int count;
+
+        Suggestion(String text, Field field, int count) {
+            this.text = text;
+            this.field = field;
+            this.count = count;
+        }
+
+        public String getText() { return text; }
+        public Field getField() { return field; }
+        public int getCount() { return count; }
+    }
+
+    private static class Phrase {
+        final String text;
+        final Field field;
+        int count;
+
+        Phrase(String text, Field field) {
+            this.text = text;
+            this.field = field;
+        }
+    }
+
+    private static class Node {
+        char[] labels = new char[0];
+        Node[] children = new Node[0];
+        List<Phrase> ends;                 // phrases with a key ending here
+        Phrase[] top = new Phrase[0];      // best TOP_K of the subtree, heaviest first
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) return children[i];
+            int at = -i - 1;
+            Node node = new Node();
+            char[] l = new char[labels.length + 1];
+            Node[] n = new Node[children.length + 1];
+            System.arraycopy(labels, 0, l, 0, at);
+            System.arraycopy(children, 0, n, 0, at);
+            l[at] = c;
+            n[at] = node;
+            System.arraycopy(labels, at, l, at + 1, labels.length - at);
+            System.arraycopy(children, at, n, at + 1, children.length - at);
+            labels = l;
+            children = n;
+            return node;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i < 0) return;
+            char[] l = new char[labels.length - 1];
+            Node[] n = new Node[children.length - 1];
+            System.arraycopy(labels, 0, l, 0, i);
+            System.arraycopy(children, 0, n, 0, i);
+            System.arraycopy(labels, i + 1, l, i, labels.length - i - 1);
+            System.arraycopy(children, i + 1, n, i, children.length - i - 1);
+            labels = l;
+            children = n;
+        }
+
+        boolean isEmpty() {
+            return labels.length == 0 && (ends == null || ends.isEmpty());
+        }
+    }
+
+    // heaviest first; ties alphabetical, then by field
+    private static final Comparator<Phrase> BY_WEIGHT = Comparator.<Phrase>comparingInt(p -> -p.count)
+            .thenComparing(p -> p.text)
+            .thenComparing(p -> p.field);
+
+    private final Node root = new Node();
+    private final Map<String, Phrase> phrases = new HashMap<>();
+    private final Map<Long, List<Phrase>> phrasesByPost = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /* ---------------------------------------------------------
+       Writes
+     --------------------------------------------------------- */
+    public void put(PostDocument doc) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc.getId());
+            List<Phrase> used = new ArrayList<>(3);
+            addPhrase(used, doc.getTitle(), Field.TITLE);
+            addPhrase(used, doc.getCategory(), Field.CATEGORY);
+            addPhrase(used, doc.getLocation(), Field.LOCATION);
+            if (!used.isEmpty()) phrasesByPost.put(doc.getId(), used);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean putIfAbsent(PostDocument doc) {
+        lock.writeLock().lock();
+        try {
+            if (phrasesByPost.containsKey(doc.getId())) return false;
+            put(doc); // reentrant
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addPhrase(List<Phrase> used, String value, Field field) {
+        String text = FacetIndex.normalize(value);
+        if (text == null) return;
+        Phrase phrase = phrases.computeIfAbsent(field + ":" + text, k -> new Phrase(text, field));
+        phrase.count++;
+        used.add(phrase);
+        for (String key : keys(text)) {
+            Node node = root;
+            promote(node, phrase);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+                promote(node, phrase);
+            }
+            if (node.ends == null) node.ends = new ArrayList<>(1);
+            if (!node.ends.contains(phrase)) node.ends.add(phrase);
+        }
+    }
+
+    // A heavier phrase can only move up (or enter) each top-K on its paths: O(K) per node
+    private static void promote(Node node, Phrase phrase) {
+        Phrase[] top = node.top;
+        int at = -1;
+        for (int i = 0; i < top.length; i++) {
+            if (top[i] == phrase) { at = i; break; }
+        }
+        if (at < 0) {
+            if (top.length == TOP_K && BY_WEIGHT.compare(phrase, top[TOP_K - 1]) >= 0) return;
+            top = Arrays.copyOf(top, Math.min(TOP_K, top.length + 1));
+            at = top.length - 1;
+            top[at] = phrase;
+        }
+        while (at > 0 && BY_WEIGHT.compare(top[at], top[at - 1]) < 0) {
+            Phrase t = top[at]; top[at] = top[at - 1]; top[at - 1] = t;
+            at--;
+        }
+        node.top = top;
+    }
+
+    // A lighter phrase may drop out and let another in, so every node on its paths is
+    // recomputed from its children, deepest first (each node once)
+    private void removeLocked(long id) {
+        List<Phrase> used = phrasesByPost.remove(id);
+        if (used == null) return;
+        List<Step> steps = new ArrayList<>();
+        Set<Node> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Phrase phrase : used) {
+            phrase.count--;
+            if (phrase.count == 0) phrases.remove(phrase.field + ":" + phrase.text);
+            for (String key : keys(phrase.text)) {
+                Node node = root;
+                if (seen.add(node)) steps.add(new Step(node, null, '\0', 0));
+                for (int i = 0; i < key.length() && node != null; i++) {
+                    Node parent = node;
+                    node = parent.child(key.charAt(i));
+                    if (node != null && seen.add(node)) steps.add(new Step(node, parent, key.charAt(i), i + 1));
+                }
+                if (node != null && phrase.count == 0 && node.ends != null) node.ends.remove(phrase);
+            }
+        }
+        steps.sort(Comparator.comparingInt((Step st) -> st.depth).reversed());
+        for (Step step : steps) {
+            if (step.parent != null && step.node.isEmpty()) {
+                step.parent.removeChild(step.label);
+            } else {
+                step.node.top = merge(step.node);
+            }
+        }
+    }
+
+    private static class Step {
+        final Node node;
+        final Node parent;
+        final char label;
+        final int depth;
+
+        Step(Node node, Node parent, char label, int depth) {
+            this.node = node;
+            this.parent = parent;
+            this.label = label;
+            this.depth = depth;
+        }
+    }
+
+    private static Phrase[] merge(Node node) {
+        Set<Phrase> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (node.ends != null) candidates.addAll(node.ends);
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        List<Phrase> sorted = new ArrayList<>(candidates);
+        sorted.sort(BY_WEIGHT);
+        return sorted.subList(0, Math.min(TOP_K, sorted.size())).toArray(new Phrase[0]);
+    }
+
+    // word-start suffixes of the phrase, cut to MAX_KEY_LENGTH
+    static Set<String> keys(String text) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (i > 0 && text.charAt(i - 1) != ' ') continue;
+            String suffix = text.substring(i);
+            if (suffix.length() < MIN_SUFFIX_LENGTH) continue;
+            keys.add(suffix.length() > MAX_KEY_LENGTH ? suffix.substring(0, MAX_KEY_LENGTH) : suffix);
+        }
+        return keys;
+    }
+
+    /* ---------------------------------------------------------
+       Lookup
+     --------------------------------------------------------- */
+    // ✅ Up to `limit` (<= TOP_K) completions of the prefix, most used first
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String query = FacetIndex.normalize(prefix);
+        if (query == null || limit <= 0) return List.of();
+        boolean cut = query.length() > MAX_KEY_LENGTH;
+        String key = cut ? query.substring(0, MAX_KEY_LENGTH) : query;
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) node = node.child(key.charAt(i));
+            if (node == null) return List.of();
+            List<Suggestion> result = new ArrayList<>(Math.min(limit, node.top.length));
+            for (Phrase p : node.top) {
+                if (result.size() == limit) break;
+                // keys are cut, so a long query still has to match the phrase itself
+                if (cut && !(p.text.startsWith(query) || p.text.contains(" " + query))) continue;
+                result.add(new Suggestion(p.text, p.field, p.count));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return phrases.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
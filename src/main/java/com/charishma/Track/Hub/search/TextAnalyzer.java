@@ -0,0 +1,92 @@
+package com.charishma.Track.Hub.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns post text into index terms: split on non-alphanumerics, lowercase,
+ * drop English stop words, then apply a light suffix stemmer
+ * ("keys" -> "key", "earpods" -> "earpod", "charged" / "charging" -> "charg").
+ * Index and query text must go through the same analyzer.
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "i", "in",
+            "is", "it", "its", "me", "my", "of", "on", "or", "our", "that", "the", "this", "to",
+            "was", "were", "with", "you", "your");
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) return terms;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                String term = normalize(text.substring(start, i));
+                if (term != null) terms.add(term);
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    // null when the token is not worth indexing
+    static String normalize(String token) {
+        String t = token.toLowerCase(Locale.ROOT);
+        if (STOP_WORDS.contains(t)) return null;
+        if (t.length() < 2 && !Character.isDigit(t.charAt(0))) return null;
+        return stem(t);
+    }
+
+    static String stem(String w) {
+        if (w.length() <= 3 || !isLetters(w)) return w;
+
+        // plurals
+        if (w.endsWith("sses")) {
+            w = w.substring(0, w.length() - 2);
+        } else if (w.endsWith("ies") && w.length() > 4) {
+            w = w.substring(0, w.length() - 3) + "y";
+        } else if (w.endsWith("es") && (w.endsWith("xes") || w.endsWith("ches") || w.endsWith("shes") || w.endsWith("zes"))) {
+            w = w.substring(0, w.length() - 2);
+        } else if (w.endsWith("s") && !w.endsWith("ss") && !w.endsWith("us") && !w.endsWith("is")) {
+            w = w.substring(0, w.length() - 1);
+        }
+
+        // verb endings, keeping a stem of at least three letters
+        if (w.endsWith("ing") && w.length() >= 6) {
+            w = undouble(w.substring(0, w.length() - 3));
+        } else if (w.endsWith("ed") && w.length() >= 5) {
+            w = undouble(w.substring(0, w.length() - 2));
+        }
+
+        // "charge" / "charged" / "charging" -> "charg"
+        if (w.endsWith("e") && w.length() > 4) {
+            w = w.substring(0, w.length() - 1);
+        }
+        return w;
+    }
+
+    // "dropp" -> "drop", but keep "fill", "pass", "buzz"
+    private static String undouble(String w) {
+        int n = w.length();
+        if (n >= 4 && w.charAt(n - 1) == w.charAt(n - 2) && "aeioulsz".indexOf(w.charAt(n - 1)) < 0) {
+            return w.substring(0, n - 1);
+        }
+        return w;
+    }
+
+    private static boolean isLetters(String w) {
+        for (int i = 0; i < w.length(); i++) {
+            if (!Character.isLetter(w.charAt(i))) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,99 @@
+package com.charishma.Track.Hub.search;
+
+import java.util.*;
+
+/**
+ * Character trigram index over a term vocabulary, for typo-tolerant lookups.
+ * - Terms are padded ("  airpod ") so prefixes and suffixes carry weight
+ * - Candidates are vocabulary terms sharing at least two trigrams with the query term,
+ *   then kept only within a small edit distance (1 for short terms, 2 otherwise)
+ * Cost depends on the vocabulary size, not on the number of posts.
+ * Not thread-safe on its own; InvertedIndex guards it with its lock.
+ */
+public class TrigramIndex {
+
+    private static final int MIN_SHARED_GRAMS = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+
+    public void add(String term) {
+        for (String gram : grams(term)) {
+            termsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+        }
+    }
+
+    public void remove(String term) {
+        for (String gram : grams(term)) {
+            Set<String> terms = termsByGram.get(gram);
+            if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                termsByGram.remove(gram);
+            }
+        }
+    }
+
+    public void clear() {
+        termsByGram.clear();
+    }
+
+    // ✅ Vocabulary terms close to `term`, with similarity 1 - distance / length (the term itself excluded)
+    public Map<String, Float> similar(String term) {
+        Map<String, Float> result = new HashMap<>();
+        if (term.length() < MIN_FUZZY_LENGTH) return result;
+        int maxDistance = term.length() <= 5 ? 1 : 2;
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams(term)) {
+            Set<String> terms = termsByGram.get(gram);
+            if (terms == null) continue;
+            for (String candidate : terms) {
+                shared.merge(candidate, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<String, Integer> e : shared.entrySet()) {
+            String candidate = e.getKey();
+            if (e.getValue() < MIN_SHARED_GRAMS || candidate.equals(term)) continue;
+            if (Math.abs(candidate.length() - term.length()) > maxDistance) continue;
+            int distance = editDistance(term, candidate, maxDistance);
+            if (distance <= maxDistance) {
+                result.put(candidate, 1f - (float) distance / Math.max(term.length(), candidate.length()));
+            }
+        }
+        return result;
+    }
+
+    static Set<String> grams(String term) {
+        String padded = "  " + term + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Optimal string alignment distance (adjacent swaps cost 1); returns max + 1 once it is exceeded
+    static int editDistance(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        int[] prevPrev = new int[m + 1];
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = j;
+        for (int i = 1; i <= n; i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, prevPrev[j - 2] + 1);
+                }
+                cur[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) return max + 1;
+            int[] t = prevPrev; prevPrev = prev; prev = cur; cur = t;
+        }
+        return Math.min(prev[m], max + 1);
+    }
+}
@@ -0,0 +1,48 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.model.Otp;
+import com.charishma.Track.Hub.repo.OtpRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * OTPs kept in the otps table (app.otp.store=database): shared by every instance and kept
+ * across restarts, at the cost of an insert per code and an id lookup plus one conditional
+ * update per verification.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "database")
+public class DatabaseOtpStore implements OtpStore {
+
+    private final OtpRepository otpRepository;
+
+    public DatabaseOtpStore(OtpRepository otpRepository) {
+        this.otpRepository = otpRepository;
+    }
+
+    @Override
+    @Transactional
+    public void save(String phone, String purpose, String code, LocalDateTime expiresAt) {
+        Otp otp = new Otp();
+        otp.setPhone(phone);
+        otp.setOtpCode(code);
+        otp.setPurpose(purpose);
+        otp.setExpiresAt(expiresAt);
+        otp.setUsed(false);
+        otpRepository.save(otp);
+    }
+
+    // No read-compare-write: the conditional update both checks and uses the code up
+    @Override
+    @Transactional
+    public boolean consume(String phone, String purpose, String code) {
+        if (code == null) return false;
+        List<Long> latest = otpRepository.findLatestUnusedIds(phone, purpose, PageRequest.of(0, 1));
+        return !latest.isEmpty() && otpRepository.consume(latest.get(0), code, LocalDateTime.now()) == 1;
+    }
+}
@@ -0,0 +1,89 @@
+package com.charishma.Track.Hub.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OTPs kept in memory: no table rows, no DB round trips on issue or verify.
+ * - One entry per (phone, purpose); issuing a new code replaces the old one
+ * - A hashed timing wheel removes entries once they expire, so the map only ever holds live codes
+ * - Verification checks the expiry itself (the wheel may be up to a tick late) and removes the
+ *   entry with an atomic remove(key, entry), so two concurrent verifications cannot both succeed
+ * Codes do not survive a restart and are not shared between instances: run one instance (or
+ * sticky routing) with this store, or switch app.otp.store to "database".
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private static final Duration TICK = Duration.ofSeconds(1);
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private static final class Entry {
+        final byte[] code;
+        final LocalDateTime expiresAt;
+        volatile TimingWheel.Timeout timeout;
+
+        Entry(String code, LocalDateTime expiresAt) {
+            this.code = code.getBytes(StandardCharsets.UTF_8);
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final TimingWheel wheel;
+
+    public InMemoryOtpStore() {
+        this(TICK, TICKS_PER_WHEEL);
+    }
+
+    InMemoryOtpStore(Duration tick, int ticksPerWheel) {
+        this.wheel = new TimingWheel("otp-expiry", tick, ticksPerWheel);
+    }
+
+    @Override
+    public void save(String phone, String purpose, String code, LocalDateTime expiresAt) {
+        String key = key(phone, purpose);
+        Entry entry = new Entry(code, expiresAt);
+        Entry previous = entries.put(key, entry);
+        if (previous != null && previous.timeout != null) previous.timeout.cancel();
+        entry.timeout = wheel.schedule(() -> entries.remove(key, entry),
+                Duration.between(LocalDateTime.now(), expiresAt));
+    }
+
+    @Override
+    public boolean consume(String phone, String purpose, String code) {
+        if (code == null) return false;
+        String key = key(phone, purpose);
+        Entry entry = entries.get(key);
+        if (entry == null || entry.expiresAt.isBefore(LocalDateTime.now())) return false;
+        if (!MessageDigest.isEqual(entry.code, code.getBytes(StandardCharsets.UTF_8))) return false;
+        if (!entries.remove(key, entry)) return false; // consumed or replaced concurrently
+        if (entry.timeout != null) entry.timeout.cancel();
+        return true;
+    }
+
+    // Live (unexpired, unused) codes, give or take one wheel tick
+    public int size() {
+        return entries.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        wheel.close();
+    }
+
+    // purpose matched case-insensitively, as the otps table's collation does
+    private static String key(String phone, String purpose) {
+        return phone + '\u0000' + purpose.toUpperCase(Locale.ROOT);
+    }
+}
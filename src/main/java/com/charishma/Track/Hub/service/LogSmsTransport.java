@@ -0,0 +1,22 @@
+package com.charishma.Track.Hub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes OTPs to the log instead of sending them (app.sms.transport=log), for local development
+ * without MSG91 credentials.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sms.transport", havingValue = "log")
+public class LogSmsTransport implements SmsTransport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LogSmsTransport.class);
+
+    @Override
+    public void send(String phone, String otp) {
+        LOG.info("📱 SMS to {}: OTP {}", phone, otp);
+    }
+}
@@ -0,0 +1,66 @@
+package com.charishma.Track.Hub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * MSG91 OTP API over one shared JDK HttpClient: connections are kept alive and reused across
+ * messages, and every call is bounded by explicit connect and read timeouts.
+ * 5xx, 429 and I/O errors (including timeouts) are reported as retryable, other 4xx are not.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sms.transport", havingValue = "msg91", matchIfMissing = true)
+public class Msg91SmsTransport implements SmsTransport {
+
+    private final RestClient restClient;
+    private final String url;
+    private final String authKey;
+    private final String templateId;
+
+    public Msg91SmsTransport(@Value("${app.sms.msg91.url:https://control.msg91.com/api/v5/otp}") String url,
+                             @Value("${msg91.authkey}") String authKey,
+                             @Value("${msg91.templateid}") String templateId,
+                             @Value("${app.sms.connect-timeout-ms:2000}") long connectTimeoutMs,
+                             @Value("${app.sms.read-timeout-ms:5000}") long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.url = url;
+        this.authKey = authKey;
+        this.templateId = templateId;
+    }
+
+    @Override
+    public void send(String phone, String otp) throws DeliveryException {
+        try {
+            restClient.post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("authkey", authKey)
+                    .body(Map.of("template_id", templateId, "mobile", "+91" + phone, "otp", otp))
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientResponseException e) {
+            HttpStatusCode status = e.getStatusCode();
+            throw new DeliveryException("MSG91 answered " + status.value() + ": " + e.getResponseBodyAsString(),
+                    status.is5xxServerError() || status.value() == 429, e);
+        } catch (ResourceAccessException e) {
+            throw new DeliveryException("MSG91 unreachable: " + e.getMessage(), true, e);
+        }
+    }
+}
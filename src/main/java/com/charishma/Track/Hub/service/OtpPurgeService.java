@@ -0,0 +1,123 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.repo.OtpRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes used and expired rows from the otps table, so it stays at roughly the number of
+ * live codes instead of growing with every login.
+ * - Walks the table in primary-key ranges of app.otp.purge.batch-size ids, one short
+ *   transaction per range, sleeping app.otp.purge.pause-ms in between: locks are only ever
+ *   held on one range, and concurrent inserts (always above the current range) are not blocked
+ * - Jumps straight to the next existing id, so gaps left by earlier purges cost one lookup
+ * - Stops at the highest id seen when the run started (ranges never reach past it)
+ * - Runs on a thread of its own (every app.otp.purge.interval-ms), not on Spring's shared
+ *   scheduler thread, so its pauses never hold up the other scheduled jobs
+ * - Metrics: otp.purge.rows (rows deleted) and otp.purge.duration (one sample per run)
+ */
+@Service
+public class OtpPurgeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OtpPurgeService.class);
+
+    private final OtpRepository otpRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pauseMs;
+    private final Counter purgedRows;
+    private final Timer runTime;
+    private final ScheduledExecutorService scheduler;
+
+    public OtpPurgeService(OtpRepository otpRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.otp.purge.batch-size:1000}") int batchSize,
+                           @Value("${app.otp.purge.pause-ms:50}") long pauseMs,
+                           @Value("${app.otp.purge.initial-delay-ms:60000}") long initialDelayMs,
+                           @Value("${app.otp.purge.interval-ms:3600000}") long intervalMs) {
+        if (batchSize < 1) throw new IllegalArgumentException("app.otp.purge.batch-size must be positive");
+        this.otpRepository = otpRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.purgedRows = Counter.builder("otp.purge.rows")
+                .description("Used or expired OTP rows deleted")
+                .register(meterRegistry);
+        this.runTime = Timer.builder("otp.purge.duration")
+                .description("Time taken by one OTP purge run")
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "otp-purge");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledPurge, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public int purge() {
+        return runTime.record(this::purgeRanges);
+    }
+
+    // an exception would cancel the schedule: log it and try again next interval
+    private void scheduledPurge() {
+        try {
+            purge();
+        } catch (RuntimeException ex) {
+            LOG.error("OTP purge failed", ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow(); // interrupts a pause: the run stops between batches
+    }
+
+    private int purgeRanges() {
+        LocalDateTime now = LocalDateTime.now();
+        Long last = otpRepository.findLastId();
+        Long from = last == null ? null : otpRepository.findFirstIdFrom(0L);
+        int purged = 0;
+        int batches = 0;
+        while (from != null && from <= last) {
+            long lo = from;
+            long hi = Math.min(lo + batchSize, last + 1);
+            Integer deleted = transactionTemplate.execute(s -> otpRepository.purgeRange(lo, hi, now));
+            int n = deleted == null ? 0 : deleted;
+            purged += n;
+            purgedRows.increment(n);
+            batches++;
+            from = otpRepository.findFirstIdFrom(hi);
+            if (from != null && from <= last && !pause()) break;
+        }
+        if (purged > 0) {
+            LOG.info("🧹 Purged {} used or expired OTPs in {} batch(es)", purged, batches);
+        }
+        return purged;
+    }
+
+    // false when interrupted (shutdown): stop between batches
+    private boolean pause() {
+        if (pauseMs <= 0) return true;
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
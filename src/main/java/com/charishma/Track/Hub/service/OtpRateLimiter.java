@@ -0,0 +1,212 @@
+package com.charishma.Track.Hub.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets in front of everything that issues an OTP (and so writes a code and
+ * sends an email): one bucket per phone, per email and per client IP.
+ * - A request takes one token from each of its buckets, or from none of them: a client that is
+ *   turned away does not drain the phone or email it was aiming at any further
+ * - Recipients (phone, email) and clients (IP) have separate capacities and refill rates
+ * - Buckets live in lock-striped hash maps; a request only locks the (at most three) stripes its
+ *   keys hash to, always in stripe order, so unrelated requests rarely contend and overlapping
+ *   ones cannot deadlock
+ * - A bucket that has been idle long enough to refill completely is indistinguishable from a
+ *   new one and is dropped by a periodic sweep, so memory follows recent traffic only
+ * Limits are per instance.
+ */
+@Service
+public class OtpRateLimiter {
+
+    private static final int STRIPES = 64; // power of two
+
+    // Bucket size and refill rate for one kind of key
+    public static final class Limit {
+        final double capacity;
+        final long nanosPerToken;
+
+        public Limit(int capacity, Duration refillEvery) {
+            if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+            if (refillEvery.isZero() || refillEvery.isNegative()) {
+                throw new IllegalArgumentException("refill period must be positive");
+            }
+            this.capacity = capacity;
+            this.nanosPerToken = refillEvery.toNanos();
+        }
+    }
+
+    private static final class Bucket {
+        final Limit limit;
+        double tokens;
+        long updatedAt;
+
+        Bucket(Limit limit, long now) {
+            this.limit = limit;
+            this.tokens = limit.capacity;
+            this.updatedAt = now;
+        }
+
+        void refill(long now) {
+            tokens = Math.min(limit.capacity, tokens + (double) (now - updatedAt) / limit.nanosPerToken);
+            updatedAt = now;
+        }
+
+        long nanosUntilToken() {
+            return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) * limit.nanosPerToken);
+        }
+    }
+
+    // Key kinds; each has its own maps, so keys are used as given (no prefixing per request)
+    private static final int IP = 0, PHONE = 1, EMAIL = 2;
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        @SuppressWarnings("unchecked")
+        final Map<String, Bucket>[] buckets = new Map[]{new HashMap<>(), new HashMap<>(), new HashMap<>()};
+    }
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Limit recipientLimit;
+    private final Limit clientLimit;
+    private final LongSupplier clock;
+
+    @Autowired
+    public OtpRateLimiter(@Value("${app.rate-limit.otp.recipient.capacity:3}") int recipientCapacity,
+                          @Value("${app.rate-limit.otp.recipient.refill-seconds:60}") long recipientRefillSeconds,
+                          @Value("${app.rate-limit.otp.client.capacity:10}") int clientCapacity,
+                          @Value("${app.rate-limit.otp.client.refill-seconds:30}") long clientRefillSeconds) {
+        this(new Limit(recipientCapacity, Duration.ofSeconds(recipientRefillSeconds)),
+                new Limit(clientCapacity, Duration.ofSeconds(clientRefillSeconds)), System::nanoTime);
+    }
+
+    OtpRateLimiter(Limit recipientLimit, Limit clientLimit, LongSupplier clock) {
+        this.recipientLimit = recipientLimit;
+        this.clientLimit = clientLimit;
+        this.clock = clock;
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    /* ---------------------------------------------------------
+       Acquire
+     --------------------------------------------------------- */
+    // ✅ 0 when the OTP may be issued (a token was taken from every bucket), otherwise the
+    // whole seconds to wait before retrying. Null or blank keys are skipped.
+    public long acquire(String clientIp, String phone, String email) {
+        String ip = present(clientIp) ? clientIp.trim() : null;
+        String ph = present(phone) ? phone.trim() : null;
+        String em = present(email) ? email.trim().toLowerCase(Locale.ROOT) : null;
+        int a = ip != null ? stripe(ip, IP) : -1;
+        int b = ph != null ? stripe(ph, PHONE) : -1;
+        int c = em != null ? stripe(em, EMAIL) : -1;
+
+        // lock the distinct stripes in ascending order (at most three, so sorted by hand)
+        int lo = Math.min(a, Math.min(b, c)), hi = Math.max(a, Math.max(b, c));
+        int mid = a + b + c - lo - hi;
+        lock(lo);
+        if (mid != lo) lock(mid);
+        if (hi != mid) lock(hi);
+        try {
+            long now = clock.getAsLong();
+            Bucket ipBucket = ip != null ? bucket(a, IP, ip, clientLimit, now) : null;
+            Bucket phoneBucket = ph != null ? bucket(b, PHONE, ph, recipientLimit, now) : null;
+            Bucket emailBucket = em != null ? bucket(c, EMAIL, em, recipientLimit, now) : null;
+            long wait = Math.max(wait(ipBucket), Math.max(wait(phoneBucket), wait(emailBucket)));
+            if (wait > 0) return (wait + 999_999_999) / 1_000_000_000; // rounded up
+            if (ipBucket != null) ipBucket.tokens -= 1;
+            if (phoneBucket != null) phoneBucket.tokens -= 1;
+            if (emailBucket != null) emailBucket.tokens -= 1;
+            return 0;
+        } finally {
+            if (hi != mid) unlock(hi);
+            if (mid != lo) unlock(mid);
+            unlock(lo);
+        }
+    }
+
+    // Existing bucket refilled to now, or a new full one (caller holds the stripe lock)
+    private Bucket bucket(int stripe, int kind, String key, Limit limit, long now) {
+        Map<String, Bucket> map = stripes[stripe].buckets[kind];
+        Bucket bucket = map.get(key);
+        if (bucket == null) {
+            bucket = new Bucket(limit, now);
+            map.put(key, bucket);
+        } else {
+            bucket.refill(now);
+        }
+        return bucket;
+    }
+
+    private static long wait(Bucket bucket) {
+        return bucket == null ? 0 : bucket.nanosUntilToken();
+    }
+
+    private void lock(int stripe) {
+        if (stripe >= 0) stripes[stripe].lock.lock();
+    }
+
+    private void unlock(int stripe) {
+        if (stripe >= 0) stripes[stripe].lock.unlock();
+    }
+
+    /* ---------------------------------------------------------
+       Eviction
+     --------------------------------------------------------- */
+    // Drops buckets that would be full by now; returns how many were dropped
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public int evictIdle() {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                long now = clock.getAsLong();
+                for (Map<String, Bucket> map : stripe.buckets) {
+                    for (Iterator<Bucket> it = map.values().iterator(); it.hasNext(); ) {
+                        Bucket bucket = it.next();
+                        double missing = bucket.limit.capacity - bucket.tokens;
+                        if (now - bucket.updatedAt >= (long) (missing * bucket.limit.nanosPerToken)) {
+                            it.remove();
+                            evicted++;
+                        }
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    // Buckets currently held
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                for (Map<String, Bucket> map : stripe.buckets) size += map.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private static boolean present(String key) {
+        return key != null && !key.isBlank();
+    }
+
+    private static int stripe(String key, int kind) {
+        int h = key.hashCode() * 31 + kind;
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+}
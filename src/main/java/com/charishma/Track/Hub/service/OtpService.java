@@ -1,13 +1,10 @@
 package com.charishma.Track.Hub.service;
 
-import com.charishma.Track.Hub.model.Otp;
-import com.charishma.Track.Hub.repo.OtpRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import com.charishma.Track.Hub.repo.UserRepository;
 import com.charishma.Track.Hub.model.User;
 
@@ -21,7 +18,7 @@ import java.util.UUID;
 @Service
 public class OtpService {
 
-    private final OtpRepository otpRepository;
+    private final OtpStore otpStore;
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final Logger logger = LoggerFactory.getLogger(OtpService.class);
@@ -30,30 +27,23 @@ public class OtpService {
     @Value("${app.otp.expiry.minutes:5}")
     private int otpExpiryMinutes;
 
-   public OtpService(OtpRepository otpRepository,
+   public OtpService(OtpStore otpStore,
                   SmsService smsService,
                   UserRepository userRepository,
                   EmailService emailService) {
-    this.otpRepository = otpRepository;
+    this.otpStore = otpStore;
     this.userRepository = userRepository;
     this.emailService = emailService;
 }
 
 
 
-    @Transactional
     public String createOtpForPhone(String phone, String purpose) {
         String code = generateNumericOtp(6);
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(otpExpiryMinutes);
+        otpStore.save(phone, purpose, code, expiresAt);
 
-        Otp otp = new Otp();
-        otp.setPhone(phone);
-        otp.setOtpCode(code);
-        otp.setPurpose(purpose);
-        otp.setExpiresAt(LocalDateTime.now().plusMinutes(otpExpiryMinutes));
-        otp.setUsed(false);
-        otpRepository.save(otp);
-
-        logger.info("📱 Created OTP {} for phone {} (purpose {}, expires {})", code, phone, purpose, otp.getExpiresAt());
+        logger.info("📱 Created OTP {} for phone {} (purpose {}, expires {})", code, phone, purpose, expiresAt);
         return code;
     }
 
@@ -85,28 +75,11 @@ public class OtpService {
     }
 }
 
-    @Transactional
     public boolean verifyOtp(String phone, String code, String purpose) {
-        Optional<Otp> opt = otpRepository.findTopByPhoneAndPurposeAndIsUsedFalseOrderByCreatedAtDesc(phone, purpose);
-        if (opt.isEmpty()) {
-            logger.warn("No OTP found for {} purpose {}", phone, purpose);
-            return false;
-        }
-
-        Otp otp = opt.get();
-
-        if (otp.getExpiresAt().isBefore(LocalDateTime.now())) {
-            logger.warn("OTP expired for {}", phone);
+        if (!otpStore.consume(phone, purpose, code)) {
+            logger.warn("OTP rejected for {} purpose {} (missing, expired, used or mismatched)", phone, purpose);
             return false;
         }
-
-        if (!otp.getOtpCode().equals(code)) {
-            logger.warn("OTP mismatch for {}", phone);
-            return false;
-        }
-
-        otp.setUsed(true);
-        otpRepository.save(otp);
         logger.info("✅ OTP verified successfully for {}", phone);
         return true;
     }
@@ -0,0 +1,16 @@
+package com.charishma.Track.Hub.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Where issued OTPs live until they are used or expire; one live code per (phone, purpose).
+ * Chosen with app.otp.store: "memory" (InMemoryOtpStore, default) or "database" (DatabaseOtpStore).
+ */
+public interface OtpStore {
+
+    // Issues a code, replacing any earlier unused code for the same phone and purpose
+    void save(String phone, String purpose, String code, LocalDateTime expiresAt);
+
+    // ✅ True once for a matching, unexpired code; the code is then used up
+    boolean consume(String phone, String purpose, String code);
+}
@@ -0,0 +1,88 @@
+package com.charishma.Track.Hub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * One-off move of legacy photos from the posts.photo_url LONGBLOB column into the photo store.
+ * Runs in the background after startup, one small batch at a time, and clears each blob
+ * once its bytes are safely on disk. A row that fails is logged and skipped (it keeps its blob
+ * and is retried on the next start). Does nothing on databases that never had the column.
+ */
+@Service
+public class PhotoMigrationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PhotoMigrationService.class);
+    private static final int BATCH_SIZE = 20;
+    private static final String NEXT_BATCH =
+            "SELECT id FROM posts WHERE photo_url IS NOT NULL AND id > ? ORDER BY id LIMIT " + BATCH_SIZE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PhotoStorageService photoStorageService;
+    private final TransactionTemplate transactionTemplate;
+
+    public PhotoMigrationService(JdbcTemplate jdbcTemplate,
+                                 PhotoStorageService photoStorageService,
+                                 PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.photoStorageService = photoStorageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyPhotos() {
+        List<Long> ids;
+        try {
+            ids = jdbcTemplate.queryForList(NEXT_BATCH, Long.class, 0L);
+        } catch (DataAccessException ex) {
+            LOG.debug("No legacy photo_url column to migrate: {}", ex.getMessage());
+            return;
+        }
+
+        int migrated = 0;
+        int failed = 0;
+        while (!ids.isEmpty()) {
+            for (Long id : ids) {
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(s -> migrateOne(id)))) migrated++;
+                } catch (RuntimeException ex) {
+                    // the row keeps its blob and is retried on the next start
+                    LOG.error("Failed to migrate legacy photo for postId={}, skipping it", id, ex);
+                    failed++;
+                }
+            }
+            // keyset on id: skipped rows still have photo_url set and must not be read again
+            ids = jdbcTemplate.queryForList(NEXT_BATCH, Long.class, ids.get(ids.size() - 1));
+        }
+        if (migrated > 0 || failed > 0) {
+            LOG.info("✅ Migrated {} legacy post photos into the photo store ({} failed)", migrated, failed);
+        }
+    }
+
+    // One row, in one transaction: the stored key stays held until the post points at it
+    private boolean migrateOne(Long id) {
+        byte[] bytes = jdbcTemplate.queryForObject(
+                "SELECT photo_url FROM posts WHERE id = ?", byte[].class, id);
+        if (bytes == null || bytes.length == 0) {
+            jdbcTemplate.update("UPDATE posts SET photo_url = NULL WHERE id = ?", id);
+            return false;
+        }
+        String key = photoStorageService.store(bytes);
+        jdbcTemplate.update(
+                "UPDATE posts SET photo_key = ?, photo_content_type = ?, photo_url = NULL, "
+                        + "version = version + 1, updated_at = NOW() WHERE id = ?",
+                key, PhotoStorageService.detectContentType(bytes), id);
+        return true;
+    }
+}
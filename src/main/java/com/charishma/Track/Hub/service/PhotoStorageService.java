@@ -0,0 +1,299 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.PhotoSize;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Stores post photos on the local filesystem, keyed by the SHA-256 of their content.
+ * - Identical uploads share one file
+ * - Files live under {root}/{first two hex chars}/{key}
+ * - Resized JPEG variants sit next to the original as {key}_w{width}.jpg
+ * - Uploads are streamed through a fixed-size buffer, hashed on the fly and size-checked
+ * - Reads are streamed with FileChannel.transferTo
+ * - A key stored by a transaction that has not finished yet is never deleted (see deleteIfUnreferenced)
+ */
+@Service
+public class PhotoStorageService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PhotoStorageService.class);
+    private static final Pattern KEY_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    public static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final Path root;
+    private final long maxBytes;
+    // keys stored by transactions that have not finished yet (count per key); also the lock
+    // that orders store() against deleteIfUnreferenced()
+    private final Map<String, Integer> pending = new HashMap<>();
+
+    public PhotoStorageService(@Value("${app.photos.dir:uploads/photos}") String photosDir,
+                               @Value("${app.photos.max-bytes:5242880}") long maxBytes) throws IOException {
+        this.root = Paths.get(photosDir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        Files.createDirectories(root);
+        LOG.info("Photo store rooted at {} (max {} bytes per photo)", root, maxBytes);
+    }
+
+    // Result of a streamed upload
+    public static class StoredPhoto {
+        private final String key;
+        private final String contentType;
+        private final long size;
+
+        public StoredPhoto(String key, String contentType, long size) {
+            this.key = key;
+            this.contentType = contentType;
+            this.size = size;
+        }
+
+        public String getKey() { return key; }
+        public String getContentType() { return contentType; }
+        public long getSize() { return size; }
+    }
+
+    /* ---------------------------------------------------------
+       Write
+     --------------------------------------------------------- */
+    // ✅ Store bytes and return their content key (no-op if already present)
+    public String store(byte[] data) {
+        if (data == null || data.length == 0) {
+            throw new IllegalArgumentException("Photo data is empty");
+        }
+        String key = HexFormat.of().formatHex(sha256().digest(data));
+        hold(key);
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            return key;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), key, ".tmp");
+            try {
+                Files.write(tmp, data);
+                moveIntoPlace(tmp, target);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            LOG.info("Stored photo key={} ({} bytes)", key, data.length);
+            return key;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to store photo", ex);
+        }
+    }
+
+    // ✅ Stream an upload into the store with a bounded buffer.
+    // The type is checked from the first bytes and the size limit while copying,
+    // so an oversized or non-image upload is rejected without ever being fully read.
+    public StoredPhoto store(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        Path tmp = Files.createTempFile(root, "upload", ".tmp");
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            String contentType = null;
+            long total = 0;
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                int n;
+                while ((n = in.readNBytes(buffer, 0, buffer.length)) > 0) {
+                    if (contentType == null) {
+                        contentType = detectContentType(buffer, n);
+                        if (!contentType.startsWith("image/")) {
+                            throw new IllegalArgumentException("Unsupported photo format (expected JPEG, PNG, GIF or WebP)");
+                        }
+                    }
+                    total += n;
+                    if (total > maxBytes) {
+                        throw new IllegalArgumentException("Photo exceeds the " + (maxBytes / (1024 * 1024)) + " MB limit");
+                    }
+                    digest.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("Photo data is empty");
+            }
+
+            String key = HexFormat.of().formatHex(digest.digest());
+            hold(key);
+            Path target = resolve(key);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(tmp, target);
+                LOG.info("Stored uploaded photo key={} ({} bytes, {})", key, total, contentType);
+            }
+            return new StoredPhoto(key, contentType, total);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // ✅ Store a resized variant next to its original
+    public void storeVariant(String key, int width, byte[] jpeg) throws IOException {
+        Path target = resolveVariant(key, width);
+        Path tmp = Files.createTempFile(target.getParent(), key, ".tmp");
+        try {
+            Files.write(tmp, jpeg);
+            moveIntoPlace(tmp, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Keeps key from being deleted until the current transaction has finished: the post row
+    // that will reference it only becomes visible on commit (released at once outside a transaction)
+    private void hold(String key) {
+        synchronized (pending) {
+            pending.merge(key, 1, Integer::sum);
+        }
+        AfterCommit.runAfterCompletion(() -> {
+            synchronized (pending) {
+                pending.computeIfPresent(key, (k, n) -> n == 1 ? null : n - 1);
+            }
+        });
+    }
+
+    // ✅ Deletes key unless a post still references it or an unfinished transaction has just
+    // stored it (a dedup hit whose post is not committed yet). Check and delete happen under
+    // the lock store() takes, so a concurrent store either holds the key first or finds the
+    // file gone and writes it again.
+    public boolean deleteIfUnreferenced(String key, Predicate<String> referenced) {
+        if (key == null) return false;
+        synchronized (pending) {
+            if (pending.containsKey(key) || referenced.test(key)) return false;
+            delete(key);
+            return true;
+        }
+    }
+
+    // Deletes the original and its variants, by exact name (a prefix match would also take the
+    // temp file of a concurrent upload of the same content)
+    public void delete(String key) {
+        if (key == null) return;
+        try {
+            boolean deleted = Files.deleteIfExists(resolve(key));
+            for (PhotoSize size : PhotoSize.values()) {
+                deleted |= Files.deleteIfExists(resolveVariant(key, size.getWidth()));
+            }
+            if (deleted) LOG.info("Deleted photo key={}", key);
+        } catch (IOException ex) {
+            LOG.warn("Unable to delete photo key={}", key, ex);
+        }
+    }
+
+    /* ---------------------------------------------------------
+       Read
+     --------------------------------------------------------- */
+    public boolean exists(String key) {
+        return key != null && Files.isRegularFile(resolve(key));
+    }
+
+    public boolean variantExists(String key, int width) {
+        return key != null && Files.isRegularFile(resolveVariant(key, width));
+    }
+
+    public long size(String key) throws IOException {
+        return Files.size(resolve(key));
+    }
+
+    public long variantSize(String key, int width) throws IOException {
+        return Files.size(resolveVariant(key, width));
+    }
+
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    // ✅ Zero-copy stream of the stored file into the target channel
+    public long transferTo(String key, WritableByteChannel target) throws IOException {
+        return transfer(resolve(key), target);
+    }
+
+    public long transferVariantTo(String key, int width, WritableByteChannel target) throws IOException {
+        return transfer(resolveVariant(key, width), target);
+    }
+
+    private static long transfer(Path file, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            return position;
+        }
+    }
+
+    Path resolve(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid photo key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private Path resolveVariant(String key, int width) {
+        Path original = resolve(key);
+        return original.resolveSibling(key + "_w" + width + ".jpg");
+    }
+
+    /* ---------------------------------------------------------
+       Content type sniffing (magic bytes)
+     --------------------------------------------------------- */
+    public static String detectContentType(byte[] head) {
+        if (head == null) return DEFAULT_CONTENT_TYPE;
+        return detectContentType(head, head.length);
+    }
+
+    private static String detectContentType(byte[] head, int length) {
+        if (startsWith(head, length, 0xFF, 0xD8, 0xFF)) return "image/jpeg";
+        if (startsWith(head, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) return "image/png";
+        if (startsWith(head, length, 'G', 'I', 'F', '8')) return "image/gif";
+        if (length >= 12 && startsWith(head, length, 'R', 'I', 'F', 'F')
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') return "image/webp";
+        return DEFAULT_CONTENT_TYPE;
+    }
+
+    private static boolean startsWith(byte[] data, int length, int... prefix) {
+        if (length < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    private static void moveIntoPlace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException ex) {
+            // another writer stored the same content first
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
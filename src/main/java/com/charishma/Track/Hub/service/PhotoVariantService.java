@@ -0,0 +1,162 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.PhotoSize;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.*;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates downsized JPEG variants of post photos in the background.
+ * - Runs on a small bounded pool; when the queue is full the job is dropped
+ *   (the photo endpoint falls back to the original and re-queues on demand)
+ * - Each photo key is processed at most once at a time
+ */
+@Service
+public class PhotoVariantService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PhotoVariantService.class);
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final PhotoStorageService photoStorageService;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public PhotoVariantService(PhotoStorageService photoStorageService,
+                               @Value("${app.photos.variants.threads:2}") int threads,
+                               @Value("${app.photos.variants.queue-capacity:200}") int queueCapacity) {
+        this.photoStorageService = photoStorageService;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "photo-variants-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /* ---------------------------------------------------------
+       Scheduling
+     --------------------------------------------------------- */
+    public void generateAsync(String key) {
+        if (key == null || !inFlight.add(key)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(key);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(key);
+            LOG.warn("Photo variant queue full, skipping key={} for now", key);
+        }
+    }
+
+    void generate(String key) {
+        try {
+            BufferedImage original;
+            try (InputStream in = photoStorageService.open(key)) {
+                original = decode(in, PhotoSize.MEDIUM.getWidth());
+            }
+            if (original == null) {
+                LOG.info("No ImageIO reader for photo key={}, variants skipped", key);
+                return;
+            }
+            for (PhotoSize size : PhotoSize.values()) {
+                if (photoStorageService.variantExists(key, size.getWidth())) continue;
+                byte[] jpeg = encodeJpeg(resize(original, size.getWidth()));
+                photoStorageService.storeVariant(key, size.getWidth(), jpeg);
+                LOG.info("Generated {}px variant for photo key={} ({} bytes)", size.getWidth(), key, jpeg.length);
+            }
+        } catch (Exception ex) {
+            LOG.error("Failed to generate variants for photo key={}", key, ex);
+        }
+    }
+
+    /* ---------------------------------------------------------
+       Image processing
+     --------------------------------------------------------- */
+    // Decode with source subsampling so that the decoded image is still at least
+    // twice the largest target width: far less pixel data to convert and resize.
+    static BufferedImage decode(InputStream in, int largestWidth) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int step = Math.max(1, reader.getWidth(0) / (2 * largestWidth));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Downscale to the target width (never upscale), halving first for quality.
+    // Always returns an opaque RGB image so transparent PNGs encode cleanly as JPEG.
+    static BufferedImage resize(BufferedImage src, int targetWidth) {
+        int width = Math.min(targetWidth, src.getWidth());
+        BufferedImage current = src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(1, (int) Math.round((double) src.getHeight() * w / src.getWidth()));
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, w, h);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w > width);
+        return current;
+    }
+
+    static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
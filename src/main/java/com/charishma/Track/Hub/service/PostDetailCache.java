@@ -0,0 +1,91 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.ContentVersion;
+import com.charishma.Track.Hub.dto.PostDetailResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of post detail responses, keyed by post id.
+ * - Size- and TTL-bounded; concurrent misses for one id run a single load
+ * - Entries keep their validators, so conditional GETs are answered without the DB
+ * - Invalidation happens immediately and again after the surrounding transaction commits,
+ *   so a reader that loaded the old row mid-transaction cannot leave it cached
+ * - Hit / miss / eviction metrics are published as cache.* meters (cache=postDetail)
+ */
+@Service
+public class PostDetailCache {
+
+    public static final String NAME = "postDetail";
+
+    // Detail DTO together with its validators and owner (for owner-wide invalidation)
+    public static class Entry {
+        private final PostDetailResponse detail;
+        private final ContentVersion version;
+        private final Long ownerId;
+
+        public Entry(PostDetailResponse detail, ContentVersion version, Long ownerId) {
+            this.detail = detail;
+            this.version = version;
+            this.ownerId = ownerId;
+        }
+
+        public PostDetailResponse getDetail() { return detail; }
+        public ContentVersion getVersion() { return version; }
+        public Long getOwnerId() { return ownerId; }
+    }
+
+    private final Cache<Long, Entry> cache;
+
+    public PostDetailCache(@Value("${app.posts.detail-cache.max-size:1000}") long maxSize,
+                           @Value("${app.posts.detail-cache.ttl-seconds:60}") long ttlSeconds,
+                           MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    // ✅ loader returns null for a missing post; nothing is cached in that case
+    public Optional<Entry> get(Long postId, Function<Long, Entry> loader) {
+        return Optional.ofNullable(cache.get(postId, loader));
+    }
+
+    /* ---------------------------------------------------------
+       Invalidation
+     --------------------------------------------------------- */
+    public void invalidate(Long postId) {
+        if (postId == null) return;
+        cache.invalidate(postId);
+        AfterCommit.run(() -> cache.invalidate(postId));
+    }
+
+    // Owner name, contact and counters appear on every one of their posts
+    public void invalidateOwner(Long ownerId) {
+        if (ownerId == null) return;
+        Runnable evict = () -> cache.asMap().values().removeIf(e -> Objects.equals(e.getOwnerId(), ownerId));
+        evict.run();
+        AfterCommit.run(evict);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        AfterCommit.run(cache::invalidateAll);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
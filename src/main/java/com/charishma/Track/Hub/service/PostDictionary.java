@@ -0,0 +1,180 @@
+package com.charishma.Track.Hub.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary of post categories and locations (tables categories / locations,
+ * see db/migration/V4). Posts store the small integer id; the entity keeps a String, mapped
+ * through DictionaryConverters.
+ * - Values are matched on a key (trimmed, single-spaced, lower-case), so "Library ", "library"
+ *   and "LIBRARY" are one entry shown with the spelling it was first stored with
+ * - Names are interned: every post, DTO and index entry with the same value shares one String
+ * - Entries are loaded on first use and never change, so the cache needs no invalidation; new
+ *   values are inserted (autocommit) before the post that uses them is flushed, by
+ *   PostDictionaryListener
+ * - Inserts use a small pool of their own (app.dictionary.pool-size): the listener runs while
+ *   the request already holds a connection from the main pool, and taking a second one from
+ *   that pool could wait forever once every connection is held by such a request
+ */
+@Service
+public class PostDictionary {
+
+    public enum Kind {
+        CATEGORY("categories", 100), LOCATION("locations", 255);
+
+        private final String table;
+        private final int maxLength;
+
+        Kind(String table, int maxLength) {
+            this.table = table;
+            this.maxLength = maxLength;
+        }
+    }
+
+    // One entry; id and name never change once stored
+    private static class Term {
+        final int id;
+        final String name;
+
+        Term(int id, String name) {
+            this.id = id;
+            this.name = name.intern();
+        }
+    }
+
+    private static class Terms {
+        final Map<String, Term> byKey = new ConcurrentHashMap<>();
+        final Map<Integer, Term> byId = new ConcurrentHashMap<>();
+
+        Term add(String key, Term term) {
+            byId.putIfAbsent(term.id, term);
+            Term existing = byKey.putIfAbsent(key, term);
+            return existing != null ? existing : term;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HikariDataSource insertPool;
+    private final Map<Kind, Terms> terms = new EnumMap<>(Kind.class);
+
+    public PostDictionary(DataSource dataSource,
+                          DataSourceProperties dataSourceProperties,
+                          @Value("${app.dictionary.pool-size:2}") int poolSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.insertPool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        insertPool.setPoolName("dictionary");
+        insertPool.setMaximumPoolSize(poolSize);
+        insertPool.setMinimumIdle(0);
+        for (Kind kind : Kind.values()) terms.put(kind, new Terms());
+    }
+
+    /* ---------------------------------------------------------
+       Lookups (cache, then one select on a miss)
+     --------------------------------------------------------- */
+    // ✅ Id of an existing value, or null (never inserts: also used for query parameters)
+    public Integer idOf(Kind kind, String value) {
+        Term term = find(kind, value);
+        return term != null ? term.id : null;
+    }
+
+    // ✅ Stored spelling of an id
+    public String nameOf(Kind kind, int id) {
+        Terms t = terms.get(kind);
+        Term term = t.byId.get(id);
+        if (term == null) {
+            List<Term> rows = jdbcTemplate.query("select id, name from " + kind.table + " where id = ?",
+                    (rs, i) -> new Term(rs.getInt(1), rs.getString(2)), id);
+            if (rows.isEmpty()) throw new IllegalStateException("No " + kind.name().toLowerCase(Locale.ROOT) + " with id " + id);
+            term = t.add(key(rows.get(0).name), rows.get(0));
+        }
+        return term.name;
+    }
+
+    // ✅ Stored spelling of a value, inserting it if it is new
+    public String register(Kind kind, String value) {
+        if (value == null) return null;
+        String key = key(value);
+        Term term = find(kind, value);
+        if (term != null) return term.name;
+        String name = value.trim().replaceAll(" +", " ");
+        if (name.length() > kind.maxLength) {
+            throw new IllegalArgumentException(kind.name().toLowerCase(Locale.ROOT) + " must be at most "
+                    + kind.maxLength + " characters");
+        }
+        try {
+            return terms.get(kind).add(key, new Term(insert(kind, name, key), name)).name;
+        } catch (DuplicateKeyException ex) {
+            // another request or instance stored it first
+            return Objects.requireNonNull(find(kind, value)).name;
+        }
+    }
+
+    // Stored names containing the fragment (case-insensitive), for "location contains" lookups
+    public List<String> namesContaining(Kind kind, String fragment) {
+        String key = key(fragment);
+        List<String> names = jdbcTemplate.queryForList(
+                "select name from " + kind.table + " where name_key like ?", String.class,
+                "%" + key.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        List<String> interned = new ArrayList<>(names.size());
+        for (String name : names) interned.add(register(kind, name));
+        return interned;
+    }
+
+    private Term find(Kind kind, String value) {
+        if (value == null) return null;
+        String key = key(value);
+        Terms t = terms.get(kind);
+        Term term = t.byKey.get(key);
+        if (term != null) return term;
+        List<Term> rows = jdbcTemplate.query("select id, name from " + kind.table + " where name_key = ?",
+                (rs, i) -> new Term(rs.getInt(1), rs.getString(2)), key);
+        return rows.isEmpty() ? null : t.add(key, rows.get(0));
+    }
+
+    // Committed on its own connection (from the insert pool), so a rolled-back post never leaves
+    // the cache pointing at a missing row
+    private int insert(Kind kind, String name, String key) {
+        try (Connection connection = insertPool.getConnection()) {
+            connection.setAutoCommit(true);
+            JdbcTemplate own = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            KeyHolder id = new GeneratedKeyHolder();
+            own.update(c -> {
+                PreparedStatement ps = c.prepareStatement(
+                        "insert into " + kind.table + " (name, name_key) values (?, ?)", Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, name);
+                ps.setString(2, key);
+                return ps;
+            }, id);
+            return Objects.requireNonNull(id.getKey()).intValue();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not store " + kind.name().toLowerCase(Locale.ROOT) + " " + name, ex);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        insertPool.close();
+    }
+
+    // Matching key: trimmed, runs of spaces collapsed, lower-case (same as V4's canonicalization)
+    static String key(String value) {
+        return value.trim().replaceAll(" +", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,207 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.PostMatchResponse;
+import com.charishma.Track.Hub.dto.PostResponse;
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.PostMatch;
+import com.charishma.Track.Hub.repo.PostMatchRepository;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.search.MatchIndex;
+import com.charishma.Track.Hub.search.PostDocument;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lost-to-found matching.
+ * - Each created / updated post is matched in the background against a MatchIndex of the
+ *   opposite status (time-window prefilter, then category / location / text scoring)
+ * - The top-K matches are stored for both sides: the new post keeps its best K, and it
+ *   enters a candidate's list only if it beats that candidate's current K-th match
+ * - One matching thread with a bounded queue; the index build is its first job (it waits for
+ *   PostSearchService and copies its documents), so later jobs always see a complete index.
+ *   When the queue is full the job is dropped.
+ */
+@Service
+public class PostMatchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostMatchService.class);
+    private static final int BUILD_BATCH_SIZE = 1_000;
+
+    private final PostRepository postRepository;
+    private final PostMatchRepository postMatchRepository;
+    private final PostSearchService postSearchService;
+    private final TransactionTemplate transactionTemplate;
+    private final MatchIndex index = new MatchIndex();
+    private final ThreadPoolExecutor executor;
+    private final int topK;
+    private final Duration window;
+    private final float minScore;
+
+    public PostMatchService(PostRepository postRepository,
+                            PostMatchRepository postMatchRepository,
+                            PostSearchService postSearchService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.matching.queue-capacity:500}") int queueCapacity,
+                            @Value("${app.matching.top-k:5}") int topK,
+                            @Value("${app.matching.window-days:30}") int windowDays,
+                            @Value("${app.matching.min-score:0.35}") float minScore) {
+        this.postRepository = postRepository;
+        this.postMatchRepository = postMatchRepository;
+        this.postSearchService = postSearchService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.topK = topK;
+        this.window = Duration.ofDays(windowDays);
+        this.minScore = minScore;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "post-matching");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /* ---------------------------------------------------------
+       Build
+     --------------------------------------------------------- */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleBuild() {
+        submit("index build", this::buildIndex);
+    }
+
+    // Reuses the search index's documents (which may come from its snapshot) instead of a second
+    // pass over the posts table; reads the table only if that build failed
+    void buildIndex() {
+        long start = System.currentTimeMillis();
+        try {
+            postSearchService.whenBuilt().join();
+            postSearchService.documents().forEach(index::put);
+        } catch (CompletionException ex) {
+            long afterId = 0;
+            List<PostDocument> batch;
+            do {
+                batch = postRepository.findDocumentsAfter(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                for (PostDocument doc : batch) {
+                    index.put(doc);
+                    afterId = doc.getId();
+                }
+            } while (batch.size() == BUILD_BATCH_SIZE);
+        }
+        LOG.info("✅ Match index built: {} open posts in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    /* ---------------------------------------------------------
+       Incremental matching (queued once the write commits)
+     --------------------------------------------------------- */
+    public void match(Post post) {
+        PostDocument doc = PostDocument.of(post);
+        AfterCommit.run(() -> submit("post id=" + doc.getId(), () -> matchNow(doc)));
+    }
+
+    // Runs inside the caller's delete transaction; the index entry goes once it commits
+    public void remove(Long postId) {
+        postMatchRepository.deleteInvolving(postId);
+        AfterCommit.run(() -> submit("removal of post id=" + postId, () -> index.remove(postId)));
+    }
+
+    void matchNow(PostDocument doc) {
+        index.put(doc);
+        List<MatchIndex.Match> matches = index.match(doc, window, topK, minScore);
+        transactionTemplate.executeWithoutResult(status -> store(doc.getId(), matches));
+        if (!matches.isEmpty()) {
+            LOG.info("Matched post id={} with {} candidate(s), best score {}", doc.getId(), matches.size(),
+                    String.format(Locale.ROOT, "%.2f", matches.get(0).getScore()));
+        }
+    }
+
+    private void store(Long postId, List<MatchIndex.Match> matches) {
+        postMatchRepository.deleteInvolving(postId);
+        if (matches.isEmpty() || !postRepository.existsById(postId)) return;
+        Post post = postRepository.getReferenceById(postId);
+        for (MatchIndex.Match m : matches) {
+            Post candidate = postRepository.getReferenceById(m.getId());
+            postMatchRepository.save(newMatch(post, candidate, m.getScore()));
+
+            // the reverse side keeps its own top-K
+            List<PostMatch> theirs = postMatchRepository.findByPostIdOrderByScoreDesc(m.getId());
+            if (theirs.size() < topK) {
+                postMatchRepository.save(newMatch(candidate, post, m.getScore()));
+            } else if (m.getScore() > theirs.get(theirs.size() - 1).getScore()) {
+                postMatchRepository.delete(theirs.get(theirs.size() - 1));
+                postMatchRepository.save(newMatch(candidate, post, m.getScore()));
+            }
+        }
+    }
+
+    private static PostMatch newMatch(Post post, Post matched, float score) {
+        PostMatch match = new PostMatch();
+        match.setPost(post);
+        match.setMatchedPost(matched);
+        match.setScore(score);
+        return match;
+    }
+
+    /* ---------------------------------------------------------
+       Read
+     --------------------------------------------------------- */
+    // ✅ Stored matches for a post, best first (posts deleted since are skipped); empty if the post does not exist
+    @Transactional(readOnly = true)
+    public Optional<List<PostMatchResponse>> getMatches(Long postId) {
+        List<PostMatch> rows = postMatchRepository.findByPostIdOrderByScoreDesc(postId);
+        if (rows.isEmpty()) {
+            return postRepository.existsById(postId) ? Optional.of(List.of()) : Optional.empty();
+        }
+        List<Long> ids = rows.stream().map(m -> m.getMatchedPost().getId()).collect(Collectors.toList());
+        Map<Long, PostResponse> byId = postSearchService.hydrate(ids).stream()
+                .collect(Collectors.toMap(PostResponse::getId, Function.identity()));
+        List<PostMatchResponse> result = new ArrayList<>(rows.size());
+        for (PostMatch m : rows) {
+            PostResponse matched = byId.get(m.getMatchedPost().getId());
+            if (matched != null) result.add(new PostMatchResponse(matched, m.getScore(), m.getCreatedAt()));
+        }
+        return Optional.of(result);
+    }
+
+    /* ---------------------------------------------------------
+       Executor
+     --------------------------------------------------------- */
+    private void submit(String what, Runnable job) {
+        try {
+            executor.execute(() -> {
+                try {
+                    job.run();
+                } catch (Exception ex) {
+                    LOG.error("Matching job failed: {}", what, ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            LOG.warn("Matching queue full, skipping {}", what);
+        }
+    }
+
+    // Waits until every job queued so far has run (single worker, FIFO)
+    public void awaitIdle(Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+        executor.submit(() -> { }).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,389 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.FacetedPostPage;
+import com.charishma.Track.Hub.dto.PostPage;
+import com.charishma.Track.Hub.dto.PostResponse;
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.search.FacetIndex;
+import com.charishma.Track.Hub.search.IndexSnapshot;
+import com.charishma.Track.Hub.search.InvertedIndex;
+import com.charishma.Track.Hub.search.PostDocument;
+import com.charishma.Track.Hub.search.SuggestIndex;
+import com.charishma.Track.Hub.search.TextAnalyzer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyword search over posts backed by an in-memory BM25 inverted index.
+ * - Indexes title, description, location and category (title and category weighted up)
+ * - Fuzzy mode also matches misspelt / split / joined words via the trigram vocabulary
+ * - Combined filters (status, category, location, claimed, date range) with facet counts
+ *   are answered from per-value bitmaps in a FacetIndex kept alongside
+ * - Search-box autocomplete comes from a SuggestIndex (prefix trie over title, category, location)
+ * - Hydrated search and filter results are cached per normalized query (SearchResultCache);
+ *   every post write moves the cache to a new generation
+ * - Built in id batches after startup; until then searches fall back to the LIKE query.
+ *   With app.search.snapshot.path set, the documents are saved to an IndexSnapshot every few
+ *   minutes and on shutdown, and a restart loads it and replays only posts changed since
+ *   (readiness, see SearchIndexHealthIndicator, waits for that catch-up)
+ * - PostService keeps it current after each committed create / update / delete
+ */
+@Service
+public class PostSearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostSearchService.class);
+
+    private static final int BUILD_BATCH_SIZE = 1_000;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int LOCATION_WEIGHT = 1;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final Duration REPLAY_OVERLAP = Duration.ofMinutes(5);
+
+    public enum Mode {
+        KEYWORD, FUZZY;
+
+        // null / blank -> KEYWORD
+        public static Mode parse(String value) {
+            if (value == null || value.isBlank()) return KEYWORD;
+            try {
+                return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown search mode: " + value + " (use keyword or fuzzy)");
+            }
+        }
+    }
+
+    private final PostRepository postRepository;
+    private final SearchResultCache resultCache;
+    private final InvertedIndex index = new InvertedIndex();
+    private final FacetIndex facets = new FacetIndex();
+    private final SuggestIndex suggestions = new SuggestIndex();
+    private final Map<Long, PostDocument> documents = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final CompletableFuture<Void> built = new CompletableFuture<>();
+    private final Path snapshotFile;
+    private final AtomicLong changes = new AtomicLong();
+    private long changesAtSnapshot = -1;
+    private volatile boolean ready;
+    private volatile String startup = "pending";
+
+    public PostSearchService(PostRepository postRepository,
+                             SearchResultCache resultCache,
+                             @Value("${app.search.snapshot.path:}") String snapshotPath) {
+        this.postRepository = postRepository;
+        this.resultCache = resultCache;
+        this.snapshotFile = snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+    }
+
+    /* ---------------------------------------------------------
+       Build: warm start from the snapshot file when there is one,
+       else from the posts table in id batches
+     --------------------------------------------------------- */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        try {
+            IndexSnapshot snapshot = readSnapshot();
+            // a snapshot of an empty table has no stamp to replay from
+            if (snapshot != null && snapshot.getLastUpdatedAt() != null) {
+                warmStart(snapshot, start);
+            } else {
+                fullBuild(start);
+            }
+            ready = true;
+            removedDuringBuild.clear();
+            built.complete(null);
+        } catch (RuntimeException ex) {
+            LOG.error("Search index build failed; searches keep using the database", ex);
+            built.completeExceptionally(ex);
+        }
+    }
+
+    private void fullBuild(long start) {
+        long afterId = 0;
+        List<PostDocument> batch;
+        do {
+            batch = postRepository.findDocumentsAfter(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+            for (PostDocument doc : batch) {
+                putIfAbsent(doc);
+                afterId = doc.getId();
+            }
+        } while (batch.size() == BUILD_BATCH_SIZE);
+        startup = "full";
+        LOG.info("✅ Search index built: {} posts in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    // Snapshot documents, minus posts deleted since, overlaid with posts written since the stamp
+    // (less REPLAY_OVERLAP, for transactions that committed after a newer one was stamped)
+    private void warmStart(IndexSnapshot snapshot, long start) {
+        Map<Long, PostDocument> merged = new HashMap<>();
+        for (PostDocument doc : snapshot.getDocuments()) merged.put(doc.getId(), doc);
+
+        LocalDateTime since = snapshot.getLastUpdatedAt().minus(REPLAY_OVERLAP);
+        int changed = 0;
+        long afterId = 0;
+        List<PostDocument> batch;
+        do {
+            batch = postRepository.findDocumentsUpdatedSince(since, afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+            for (PostDocument doc : batch) {
+                merged.put(doc.getId(), doc);
+                afterId = doc.getId();
+            }
+            changed += batch.size();
+        } while (batch.size() == BUILD_BATCH_SIZE);
+
+        Set<Long> live = new HashSet<>(postRepository.findAllIds());
+        int removed = merged.size();
+        merged.keySet().retainAll(live);
+        removed -= merged.size();
+
+        // writes that landed while building are newer than anything merged here
+        merged.values().forEach(this::putIfAbsent);
+        startup = "snapshot";
+        LOG.info("✅ Search index warm-started: {} posts from snapshot, {} replayed, {} removed, in {} ms",
+                snapshot.getDocuments().size(), changed, removed, System.currentTimeMillis() - start);
+    }
+
+    private void putIfAbsent(PostDocument doc) {
+        if (removedDuringBuild.contains(doc.getId())) return;
+        if (documents.putIfAbsent(doc.getId(), doc) != null) return;
+        index.putIfAbsent(doc.getId(), termsOf(doc));
+        facets.putIfAbsent(doc);
+        suggestions.putIfAbsent(doc);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // "pending" until built, then "snapshot" or "full"
+    public String getStartup() {
+        return startup;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // Completes once the index is built (exceptionally if the build failed)
+    public CompletableFuture<Void> whenBuilt() {
+        return built;
+    }
+
+    // Current documents, for other in-memory indexes built from the same data (PostMatchService)
+    public Collection<PostDocument> documents() {
+        return Collections.unmodifiableCollection(documents.values());
+    }
+
+    /* ---------------------------------------------------------
+       Snapshot (periodically and on shutdown, when something changed)
+     --------------------------------------------------------- */
+    @Scheduled(initialDelayString = "${app.search.snapshot.interval-ms:600000}",
+               fixedDelayString = "${app.search.snapshot.interval-ms:600000}")
+    @PreDestroy
+    public synchronized void writeSnapshot() {
+        if (snapshotFile == null || !ready) return;
+        long changesNow = changes.get();
+        if (changesNow == changesAtSnapshot) return;
+        try {
+            long start = System.currentTimeMillis();
+            // stamp first: anything written after it is replayed on the next start
+            LocalDateTime lastUpdatedAt = postRepository.findLastUpdatedAt();
+            List<PostDocument> docs = new ArrayList<>(documents.values());
+            long maxId = docs.stream().mapToLong(PostDocument::getId).max().orElse(0);
+            IndexSnapshot.write(snapshotFile, lastUpdatedAt, maxId, docs);
+            changesAtSnapshot = changesNow;
+            LOG.info("Search index snapshot written: {} posts to {} in {} ms", docs.size(), snapshotFile,
+                    System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException ex) {
+            LOG.warn("Could not write search index snapshot to {}", snapshotFile, ex);
+        }
+    }
+
+    private IndexSnapshot readSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) return null;
+        try {
+            return IndexSnapshot.read(snapshotFile);
+        } catch (IOException ex) {
+            LOG.warn("Ignoring search index snapshot {}, rebuilding from the database", snapshotFile, ex);
+            return null;
+        }
+    }
+
+    /* ---------------------------------------------------------
+       Incremental updates (applied once the write commits)
+     --------------------------------------------------------- */
+    public void index(Post post) {
+        PostDocument doc = PostDocument.of(post);
+        AfterCommit.run(() -> {
+            documents.put(doc.getId(), doc);
+            index.put(doc.getId(), termsOf(doc));
+            facets.put(doc);
+            suggestions.put(doc);
+            changes.incrementAndGet();
+        });
+    }
+
+    public void remove(Long postId) {
+        AfterCommit.run(() -> {
+            if (!ready) removedDuringBuild.add(postId);
+            documents.remove(postId);
+            index.remove(postId);
+            facets.remove(postId);
+            suggestions.remove(postId);
+            changes.incrementAndGet();
+        });
+    }
+
+    /* ---------------------------------------------------------
+       Search
+     --------------------------------------------------------- */
+    // ✅ BM25-ranked posts (best first); one projection query hydrates the hits
+    public List<PostResponse> search(String query, Integer requestedLimit) {
+        return search(query, requestedLimit, Mode.KEYWORD);
+    }
+
+    public List<PostResponse> search(String query, Integer requestedLimit, Mode mode) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int limit = limit(requestedLimit);
+        if (!ready) {
+            return fallbackSearch(query.trim(), limit);
+        }
+        List<String> terms = TextAnalyzer.analyze(query);
+        return resultCache.get("search", List.of(mode, terms, limit), () -> {
+            List<InvertedIndex.Hit> hits = mode == Mode.FUZZY ? index.searchFuzzy(terms, limit) : index.search(terms, limit);
+            return Collections.unmodifiableList(hydrate(hits.stream().map(InvertedIndex.Hit::getId).collect(Collectors.toList())));
+        });
+    }
+
+    /* ---------------------------------------------------------
+       Autocomplete
+     --------------------------------------------------------- */
+    // ✅ Completions for what has been typed so far, most used first (empty until the index is built)
+    public List<SuggestIndex.Suggestion> suggest(String prefix, Integer requestedLimit) {
+        int limit = Math.min(limit(requestedLimit), SuggestIndex.TOP_K);
+        if (!ready || prefix == null || prefix.isBlank()) return List.of();
+        return suggestions.suggest(prefix, limit);
+    }
+
+    /* ---------------------------------------------------------
+       Faceted filter
+     --------------------------------------------------------- */
+    // ✅ Newest-first page of posts matching every given filter (values OR within a dimension),
+    // with facet counts per dimension; `to` is inclusive
+    public FacetedPostPage filter(Collection<String> statuses, Collection<String> categories,
+                                  Collection<String> locations, Boolean claimed,
+                                  LocalDate from, LocalDate to, String cursor, Integer requestedLimit) {
+        if (!ready) {
+            throw new IllegalStateException("Search index is still building, try again shortly");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        int limit = limit(requestedLimit);
+        List<Object> key = Arrays.asList(normalized(statuses), normalized(categories), normalized(locations),
+                claimed, from, to, cursor == null || cursor.isBlank() ? null : cursor, limit);
+        return resultCache.get("filter", key,
+                () -> runFilter(statuses, categories, locations, claimed, from, to, cursor, limit));
+    }
+
+    private FacetedPostPage runFilter(Collection<String> statuses, Collection<String> categories,
+                                      Collection<String> locations, Boolean claimed,
+                                      LocalDate from, LocalDate to, String cursor, int limit) {
+        FacetIndex.Query query = new FacetIndex.Query()
+                .where(FacetIndex.STATUS, statuses)
+                .where(FacetIndex.CATEGORY, categories)
+                .where(FacetIndex.LOCATION, locations)
+                .where(FacetIndex.CLAIMED, claimed != null ? List.of(claimed.toString()) : null)
+                .createdBetween(from != null ? from.atStartOfDay() : null,
+                        to != null ? to.plusDays(1).atStartOfDay() : null);
+        if (cursor != null && !cursor.isBlank()) {
+            PostPage.Cursor after = PostPage.decodeCursor(cursor);
+            query.after(after.getCreatedAt(), after.getId());
+        }
+        FacetIndex.Result result = facets.query(query, limit);
+        String nextCursor = result.isHasMore()
+                ? PostPage.encodeCursor(result.getLastCreatedAt(), result.getLastId())
+                : null;
+        return new FacetedPostPage(hydrate(result.getIds()), nextCursor, result.getTotal(), result.getFacets());
+    }
+
+    // cache key part: a filter's values as the index compares them (order and case do not matter)
+    private static Set<String> normalized(Collection<String> values) {
+        if (values == null) return Set.of();
+        Set<String> set = new TreeSet<>();
+        for (String v : values) {
+            String n = FacetIndex.normalize(v);
+            if (n != null) set.add(n);
+        }
+        return set;
+    }
+
+    // Loads responses for ids and returns them in the given order (ids gone from the DB are skipped)
+    List<PostResponse> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, PostResponse> byId = postRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostResponse::getId, Function.identity()));
+        List<PostResponse> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            PostResponse r = byId.get(id);
+            if (r != null) ordered.add(r);
+        }
+        return ordered;
+    }
+
+    private List<PostResponse> fallbackSearch(String query, int limit) {
+        return postRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(query, query).stream()
+                .sorted(Comparator.comparing(Post::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(limit)
+                .map(PostResponse::new)
+                .collect(Collectors.toList());
+    }
+
+    static int limit(Integer limit) {
+        if (limit == null) return PostService.DEFAULT_PAGE_SIZE;
+        if (limit < 1) throw new IllegalArgumentException("limit must be positive");
+        return Math.min(limit, PostService.MAX_PAGE_SIZE);
+    }
+
+    static Map<String, Integer> termsOf(PostDocument doc) {
+        Map<String, Integer> tf = new HashMap<>();
+        addTerms(tf, doc.getTitle(), TITLE_WEIGHT);
+        addTerms(tf, doc.getCategory(), CATEGORY_WEIGHT);
+        addTerms(tf, doc.getLocation(), LOCATION_WEIGHT);
+        addTerms(tf, doc.getDescription(), DESCRIPTION_WEIGHT);
+        return tf;
+    }
+
+    private static void addTerms(Map<String, Integer> tf, String text, int weight) {
+        for (String term : TextAnalyzer.analyze(text)) {
+            tf.merge(term, weight, Integer::sum);
+        }
+    }
+}
@@ -5,13 +5,18 @@ import com.charishma.Track.Hub.model.*;
 import com.charishma.Track.Hub.repo.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Handles all post-related logic:
@@ -19,28 +24,56 @@ import java.util.stream.Collectors;
  * - View details
  * - Contact poster (with OTP verification)
  * - Create claim and email notifications
+ * - Keeps the owner's itemsPosted / itemsReturned counters in step with
+ *   every create, delete and isClaimed change (same transaction)
+ * - Serves post detail through PostDetailCache and invalidates it on every write
+ * - Feeds every write to the keyword search index (PostSearchService)
  */
 @Service
 public class PostService {
 
     private static final Logger LOG = LoggerFactory.getLogger(PostService.class);
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final MessageRepository messageRepository;
     private final ClaimRepository claimRepository;
     private final EmailService emailService;
+    private final PhotoStorageService photoStorageService;
+    private final PhotoVariantService photoVariantService;
+    private final PostDetailCache postDetailCache;
+    private final PostSearchService postSearchService;
+    private final PostMatchService postMatchService;
+    private final SavedSearchService savedSearchService;
+    private final SearchResultCache searchResultCache;
 
     public PostService(PostRepository postRepository,
                        UserRepository userRepository,
                        MessageRepository messageRepository,
                        ClaimRepository claimRepository,
-                       EmailService emailService) {
+                       EmailService emailService,
+                       PhotoStorageService photoStorageService,
+                       PhotoVariantService photoVariantService,
+                       PostDetailCache postDetailCache,
+                       PostSearchService postSearchService,
+                       PostMatchService postMatchService,
+                       SavedSearchService savedSearchService,
+                       SearchResultCache searchResultCache) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.messageRepository = messageRepository;
         this.claimRepository = claimRepository;
         this.emailService = emailService;
+        this.photoStorageService = photoStorageService;
+        this.photoVariantService = photoVariantService;
+        this.postDetailCache = postDetailCache;
+        this.postSearchService = postSearchService;
+        this.postMatchService = postMatchService;
+        this.savedSearchService = savedSearchService;
+        this.searchResultCache = searchResultCache;
     }
 
     /* ---------------------------------------------------------
@@ -50,10 +83,63 @@ public class PostService {
         return new PostResponse(post);
     }
 
+    // Decode a Base64 (optionally data-URL) image into the photo store and point the post at it
+    private void applyBase64Photo(Post post, String photo) {
+        byte[] bytes;
+        try {
+            String base64 = photo.replaceFirst("^data:image/[^;]+;base64,", "");
+            bytes = Base64.getDecoder().decode(base64);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid Base64 image data", ex);
+        }
+        post.setPhotoKey(photoStorageService.store(bytes));
+        post.setPhotoContentType(PhotoStorageService.detectContentType(bytes));
+    }
+
+    // Stream a multipart photo part into the photo store (validated while streaming)
+    private void applyUploadedPhoto(Post post, MultipartFile photo) {
+        try (InputStream in = photo.getInputStream()) {
+            PhotoStorageService.StoredPhoto stored = photoStorageService.store(in);
+            post.setPhotoKey(stored.getKey());
+            post.setPhotoContentType(stored.getContentType());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to store uploaded photo", ex);
+        }
+    }
+
+    // Atomic +/- on the owner's counters (see UserRepository.adjustPostStats);
+    // the counters show on all of the owner's detail pages, so drop those too
+    private void adjustOwnerStats(User owner, long postedDelta, long returnedDelta) {
+        if (owner == null || (postedDelta == 0 && returnedDelta == 0)) return;
+        userRepository.adjustPostStats(owner.getId(), postedDelta, returnedDelta);
+        postDetailCache.invalidateOwner(owner.getId());
+    }
+
+    // Remove a photo file once no post references it any more. Checked after commit, so a
+    // rollback keeps the file and the check sees this transaction's own change; a concurrent
+    // create that deduplicated onto the same file keeps it too (see deleteIfUnreferenced)
+    private void releasePhoto(String photoKey) {
+        if (photoKey == null) return;
+        AfterCommit.run(() -> {
+            try {
+                photoStorageService.deleteIfUnreferenced(photoKey, postRepository::existsByPhotoKey);
+            } catch (RuntimeException ex) {
+                LOG.warn("Unable to release photo key={}", photoKey, ex);
+            }
+        });
+    }
+
     /* ---------------------------------------------------------
        Create post
      --------------------------------------------------------- */
+    @Transactional
     public PostResponse createPost(PostRequest req) {
+        return createPost(req, null);
+    }
+
+    // photo (multipart) wins over req.photoUrl (legacy Base64)
+    @Transactional
+    public PostResponse createPost(PostRequest req, MultipartFile photo) {
         User user = userRepository.findById(req.getUserId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + req.getUserId()));
 
@@ -65,14 +151,11 @@ public class PostService {
         post.setCategory(req.getCategory());
         post.setAdditionalNotes(req.getAdditionalNotes());
 
-        // Decode Base64 image if provided
-        if (req.getPhotoUrl() != null && !req.getPhotoUrl().isBlank()) {
-            try {
-                String base64 = req.getPhotoUrl().replaceFirst("^data:image/[^;]+;base64,", "");
-                post.setPhotoUrl(Base64.getDecoder().decode(base64));
-            } catch (IllegalArgumentException ex) {
-                throw new IllegalArgumentException("Invalid Base64 image data", ex);
-            }
+        // Stream multipart photo, or decode legacy Base64 image if provided
+        if (photo != null && !photo.isEmpty()) {
+            applyUploadedPhoto(post, photo);
+        } else if (req.getPhotoUrl() != null && !req.getPhotoUrl().isBlank()) {
+            applyBase64Photo(post, req.getPhotoUrl());
         }
 
         if (req.getStatus() != null) post.setStatus(Post.Status.valueOf(req.getStatus().toUpperCase()));
@@ -80,6 +163,12 @@ public class PostService {
             post.setContactPublic(Post.ContactMethod.valueOf(req.getContactPublic().toUpperCase()));
 
         Post saved = postRepository.save(post);
+        adjustOwnerStats(user, 1, Boolean.TRUE.equals(saved.getIsClaimed()) ? 1 : 0);
+        postSearchService.index(saved);
+        searchResultCache.bump();
+        postMatchService.match(saved);
+        savedSearchService.percolate(saved);
+        photoVariantService.generateAsync(saved.getPhotoKey());
         LOG.info("Created post id={} by userId={}", saved.getId(), user.getId());
         return toResponse(saved);
     }
@@ -90,19 +179,63 @@ public class PostService {
     public List<PostResponse> getUserPosts(Long userId) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
-        return postRepository.findByUserId(userId).stream().map(this::toResponse).toList();
+        return postRepository.findResponsesByUserId(userId);
     }
 
-    // ✅ Fetch all posts newest first
+    // ✅ Fetch all posts newest first (scalar projection, no entities)
     public List<PostResponse> getAllPostsSortedByDateDesc() {
-        return postRepository.findAllByOrderByCreatedAtDesc()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return postRepository.findAllResponsesOrderByCreatedAtDesc();
+    }
+
+    // ✅ Keyset-paginated feed (newest first)
+    public PostPage getAllPostsPage(String cursor, Integer limit) {
+        int size = pageSize(limit);
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<PostResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = postRepository.findFirstPage(page);
+        } else {
+            PostPage.Cursor c = PostPage.decodeCursor(cursor);
+            rows = postRepository.findPageAfter(c.getCreatedAt(), c.getId(), page);
+        }
+        return toPage(rows, size);
+    }
+
+    // ✅ Keyset-paginated posts of one user (newest first)
+    public PostPage getUserPostsPage(Long userId, String cursor, Integer limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found with ID: " + userId);
+        }
+        int size = pageSize(limit);
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<PostResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = postRepository.findUserFirstPage(userId, page);
+        } else {
+            PostPage.Cursor c = PostPage.decodeCursor(cursor);
+            rows = postRepository.findUserPageAfter(userId, c.getCreatedAt(), c.getId(), page);
+        }
+        return toPage(rows, size);
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) return DEFAULT_PAGE_SIZE;
+        if (limit < 1) throw new IllegalArgumentException("limit must be positive");
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // one extra row was fetched to learn whether another page exists
+    private PostPage toPage(List<PostResponse> rows, int size) {
+        if (rows.size() <= size) {
+            return new PostPage(rows, null);
+        }
+        List<PostResponse> items = rows.subList(0, size);
+        PostResponse last = items.get(size - 1);
+        return new PostPage(items, PostPage.encodeCursor(last.getCreatedAt(), last.getId()));
     }
 
     public List<PostResponse> getAllPosts() {
-        return postRepository.findAll().stream().map(this::toResponse).toList();
+        return postRepository.findAllResponses();
     }
 
     public boolean existsById(Long id) {
@@ -112,16 +245,30 @@ public class PostService {
     /* ---------------------------------------------------------
        Delete & Update
      --------------------------------------------------------- */
+    @Transactional
     public void deletePost(Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found with ID: " + id));
+        postMatchService.remove(id);
         postRepository.delete(post);
+        postDetailCache.invalidate(id);
+        postSearchService.remove(id);
+        searchResultCache.bump();
+        adjustOwnerStats(post.getUser(), -1, Boolean.TRUE.equals(post.getIsClaimed()) ? -1 : 0);
+        releasePhoto(post.getPhotoKey());
         LOG.info("Deleted post id={}", id);
     }
 
+    @Transactional
     public PostResponse updatePost(Long id, PostRequest req) {
+        return updatePost(id, req, null);
+    }
+
+    @Transactional
+    public PostResponse updatePost(Long id, PostRequest req, MultipartFile photo) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found with ID: " + id));
+        boolean wasClaimed = Boolean.TRUE.equals(post.getIsClaimed());
 
         if (req.getTitle() != null) post.setTitle(req.getTitle());
         if (req.getDescription() != null) post.setDescription(req.getDescription());
@@ -129,21 +276,34 @@ public class PostService {
         if (req.getCategory() != null) post.setCategory(req.getCategory());
         if (req.getAdditionalNotes() != null) post.setAdditionalNotes(req.getAdditionalNotes());
 
-        if (req.getPhotoUrl() != null && !req.getPhotoUrl().isBlank()) {
-            try {
-                String base64 = req.getPhotoUrl().replaceFirst("^data:image/[^;]+;base64,", "");
-                post.setPhotoUrl(Base64.getDecoder().decode(base64));
-            } catch (IllegalArgumentException ex) {
-                throw new IllegalArgumentException("Invalid Base64 image data", ex);
-            }
+        String previousPhotoKey = post.getPhotoKey();
+        if (photo != null && !photo.isEmpty()) {
+            applyUploadedPhoto(post, photo);
+        } else if (req.getPhotoUrl() != null && !req.getPhotoUrl().isBlank()) {
+            applyBase64Photo(post, req.getPhotoUrl());
         }
 
         if (req.getStatus() != null)
             post.setStatus(Post.Status.valueOf(req.getStatus().toUpperCase()));
         if (req.getContactPublic() != null)
             post.setContactPublic(Post.ContactMethod.valueOf(req.getContactPublic().toUpperCase()));
+        if (req.getIsClaimed() != null) post.setIsClaimed(req.getIsClaimed());
 
         Post saved = postRepository.save(post);
+        postDetailCache.invalidate(id);
+        postSearchService.index(saved);
+        searchResultCache.bump();
+        postMatchService.match(saved);
+        boolean nowClaimed = Boolean.TRUE.equals(saved.getIsClaimed());
+        if (nowClaimed != wasClaimed) {
+            adjustOwnerStats(saved.getUser(), 0, nowClaimed ? 1 : -1);
+        }
+        if (saved.getPhotoKey() != null && !saved.getPhotoKey().equals(previousPhotoKey)) {
+            photoVariantService.generateAsync(saved.getPhotoKey());
+        }
+        if (previousPhotoKey != null && !previousPhotoKey.equals(saved.getPhotoKey())) {
+            releasePhoto(previousPhotoKey);
+        }
         LOG.info("Updated post id={}", saved.getId());
         return new PostResponse(saved);
     }
@@ -151,10 +311,22 @@ public class PostService {
     /* ---------------------------------------------------------
        Get post detail
      --------------------------------------------------------- */
+    // One query: post joined with its owner; owner stats are stored counters, not COUNTs
     public PostDetailResponse getPostDetail(Long id) {
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findWithUserById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found with ID: " + id));
+        return toDetail(post);
+    }
+
+    // ✅ Cached detail with its validators (see PostDetailCache); empty if the post does not exist
+    public Optional<PostDetailCache.Entry> getCachedPostDetail(Long id) {
+        return postDetailCache.get(id, key -> postRepository.findWithUserById(key)
+                .map(post -> new PostDetailCache.Entry(toDetail(post), ContentVersion.forPost(post),
+                        post.getUser() != null ? post.getUser().getId() : null))
+                .orElse(null));
+    }
 
+    private PostDetailResponse toDetail(Post post) {
         PostDetailResponse dto = new PostDetailResponse();
         dto.setId(post.getId());
         dto.setTitle(post.getTitle());
@@ -168,9 +340,8 @@ public class PostService {
         dto.setCreatedAt(post.getCreatedAt());
         dto.setUpdatedAt(post.getUpdatedAt());
 
-        if (post.getPhotoUrl() != null && post.getPhotoUrl().length > 0) {
-            dto.setPhotoBase64(Base64.getEncoder().encodeToString(post.getPhotoUrl()));
-        }
+        dto.setPhotoUrl(PhotoUrls.of(post.getId(), post.getPhotoKey(), PhotoSize.MEDIUM));
+        dto.setOriginalPhotoUrl(PhotoUrls.of(post.getId(), post.getPhotoKey(), null));
 
         User u = post.getUser();
         if (u != null) {
@@ -181,28 +352,27 @@ public class PostService {
             userInfo.setEmail(u.getEmail());
             userInfo.setPhone(u.getPhone());
             userInfo.setCreatedAt(u.getCreatedAt());
-
-            try {
-                long posted = postRepository.countByUserId(u.getId());
-                long returned = postRepository.countByUserIdAndIsClaimedTrue(u.getId());
-                userInfo.setItemsPosted(posted);
-                userInfo.setItemsReturned(returned);
-            } catch (Exception ex) {
-                LOG.warn("Unable to compute user stats for userId={}", u.getId(), ex);
-                userInfo.setItemsPosted(0L);
-                userInfo.setItemsReturned(0L);
-            }
+            userInfo.setItemsPosted(u.getItemsPosted());
+            userInfo.setItemsReturned(u.getItemsReturned());
 
             dto.setUser(userInfo);
         }
         return dto;
     }
 
+    /* ---------------------------------------------------------
+       Photo lookup (bytes are streamed by the controller)
+     --------------------------------------------------------- */
+    public Optional<Post> findPostWithPhoto(Long id) {
+        return postRepository.findById(id)
+                .filter(p -> photoStorageService.exists(p.getPhotoKey()));
+    }
+
     /* ---------------------------------------------------------
        Contact Poster (with OTP verified)
      --------------------------------------------------------- */
     public boolean contactPoster(Long postId, ContactVerifyRequest req) {
-        Optional<Post> opt = postRepository.findById(postId);
+        Optional<Post> opt = postRepository.findWithUserById(postId);
         if (opt.isEmpty()) {
             LOG.warn("contactPoster: post not found id={}", postId);
             return false;
@@ -267,7 +437,7 @@ public class PostService {
        Claim creation (save + notify)
      --------------------------------------------------------- */
     public Claim createClaim(Long postId, ClaimRequest req) {
-        Post post = postRepository.findById(postId)
+        Post post = postRepository.findWithUserById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found with ID: " + postId));
 
         Claim claim = new Claim();
@@ -278,6 +448,7 @@ public class PostService {
         claim.setClaimReason(req.getClaimReason());
 
         Claim saved = claimRepository.save(claim);
+        postDetailCache.invalidate(postId);
         LOG.info("Saved claim id={} for postId={}", saved.getId(), postId);
 
         // notify poster
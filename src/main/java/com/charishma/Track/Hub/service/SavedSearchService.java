@@ -0,0 +1,183 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.SavedSearchRequest;
+import com.charishma.Track.Hub.dto.SavedSearchResponse;
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.SavedSearch;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.SavedSearchRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import com.charishma.Track.Hub.search.Percolator;
+import com.charishma.Track.Hub.search.PostDocument;
+import com.charishma.Track.Hub.search.SavedQuery;
+import com.charishma.Track.Hub.search.TextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Saved searches with email alerts, so students do not have to keep polling the feed.
+ * - Each new post is run through a Percolator (reverse index of the saved criteria)
+ *   once it commits; only the searches it satisfies are loaded
+ * - One email per user per post, however many of their searches matched
+ */
+@Service
+public class SavedSearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SavedSearchService.class);
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final Percolator percolator = new Percolator();
+    private final int maxPerUser;
+
+    public SavedSearchService(SavedSearchRepository savedSearchRepository,
+                              UserRepository userRepository,
+                              EmailService emailService,
+                              @Value("${app.saved-searches.max-per-user:20}") int maxPerUser) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.maxPerUser = maxPerUser;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        List<SavedQuery> queries = savedSearchRepository.findAllQueries();
+        queries.forEach(percolator::put);
+        LOG.info("✅ Saved search index built: {} searches", percolator.size());
+    }
+
+    /* ---------------------------------------------------------
+       CRUD
+     --------------------------------------------------------- */
+    @Transactional
+    public SavedSearchResponse create(SavedSearchRequest req) {
+        if (req.getUserId() == null) throw new IllegalArgumentException("userId is required");
+        User user = userRepository.findById(req.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + req.getUserId()));
+
+        String query = trimToNull(req.getQuery());
+        String category = trimToNull(req.getCategory());
+        Post.Status status = parseStatus(req.getStatus());
+        if (query == null && category == null && status == null) {
+            throw new IllegalArgumentException("Give at least one of query, category or status");
+        }
+        if (query != null && category == null && status == null && TextAnalyzer.analyze(query).isEmpty()) {
+            throw new IllegalArgumentException("query has no searchable words");
+        }
+        if (query != null && query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (savedSearchRepository.findByUserId(user.getId()).size() >= maxPerUser) {
+            throw new IllegalArgumentException("At most " + maxPerUser + " saved searches per user");
+        }
+
+        SavedSearch search = new SavedSearch();
+        search.setUser(user);
+        search.setQuery(query);
+        search.setCategory(category);
+        search.setStatus(status);
+        SavedSearch saved = savedSearchRepository.save(search);
+
+        SavedQuery criteria = SavedQuery.of(saved);
+        AfterCommit.run(() -> percolator.put(criteria));
+        LOG.info("Saved search id={} for userId={}", saved.getId(), user.getId());
+        return new SavedSearchResponse(saved);
+    }
+
+    public List<SavedSearchResponse> list(Long userId) {
+        return savedSearchRepository.findByUserId(userId).stream()
+                .map(SavedSearchResponse::new)
+                .collect(Collectors.toList());
+    }
+
+    // false when the search does not exist or belongs to someone else
+    @Transactional
+    public boolean delete(Long id, Long userId) {
+        Optional<SavedSearch> search = savedSearchRepository.findById(id);
+        if (search.isEmpty() || !search.get().getUser().getId().equals(userId)) return false;
+        savedSearchRepository.delete(search.get());
+        AfterCommit.run(() -> percolator.remove(id));
+        return true;
+    }
+
+    /* ---------------------------------------------------------
+       Alerts (after the post commits)
+     --------------------------------------------------------- */
+    public void percolate(Post post) {
+        PostDocument doc = PostDocument.of(post);
+        Long ownerId = post.getUser() != null ? post.getUser().getId() : null;
+        AfterCommit.run(() -> notifyMatches(doc, ownerId));
+    }
+
+    void notifyMatches(PostDocument doc, Long ownerId) {
+        try {
+            List<Long> matched = percolator.percolate(doc, ownerId);
+            if (matched.isEmpty()) return;
+
+            Map<Long, List<SavedSearch>> byUser = new LinkedHashMap<>();
+            for (SavedSearch s : savedSearchRepository.findWithUserByIdIn(matched)) {
+                byUser.computeIfAbsent(s.getUser().getId(), id -> new ArrayList<>()).add(s);
+            }
+            byUser.values().forEach(searches -> {
+                User user = searches.get(0).getUser();
+                if (user.getEmail() != null) emailService.send(alert(user, searches, doc));
+            });
+            LOG.info("Post id={} matched {} saved search(es) of {} user(s)", doc.getId(), matched.size(), byUser.size());
+        } catch (Exception ex) {
+            LOG.error("Failed to send saved search alerts for post id={}", doc.getId(), ex);
+        }
+    }
+
+    private static SimpleMailMessage alert(User user, List<SavedSearch> searches, PostDocument doc) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setTo(user.getEmail());
+        String status = doc.getStatus() != null ? doc.getStatus().name() : "new";
+        mail.setSubject("TrackHub: a " + status + " post matches your saved search");
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Hi ").append(user.getFirstName() == null ? "" : user.getFirstName()).append(",\n\n");
+        sb.append("A new post matches your saved search ").append(describe(searches.get(0)));
+        if (searches.size() > 1) sb.append(" (and ").append(searches.size() - 1).append(" more)");
+        sb.append(":\n\n");
+        sb.append("Title: ").append(doc.getTitle()).append("\n");
+        if (doc.getCategory() != null) sb.append("Category: ").append(doc.getCategory()).append("\n");
+        if (doc.getLocation() != null) sb.append("Location: ").append(doc.getLocation()).append("\n");
+        sb.append("Post ID: ").append(doc.getId()).append("\n\n");
+        sb.append("Open TrackHub to see the details.\n\n--\nTrackHub");
+        mail.setText(sb.toString());
+        return mail;
+    }
+
+    private static String describe(SavedSearch search) {
+        List<String> parts = new ArrayList<>(3);
+        if (search.getQuery() != null) parts.add("\"" + search.getQuery() + "\"");
+        if (search.getCategory() != null) parts.add("category " + search.getCategory());
+        if (search.getStatus() != null) parts.add(search.getStatus().name());
+        return String.join(", ", parts);
+    }
+
+    private static Post.Status parseStatus(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Post.Status.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown status: " + value + " (use LOST or FOUND)");
+        }
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
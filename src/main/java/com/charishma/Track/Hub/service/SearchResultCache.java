@@ -0,0 +1,78 @@
+package com.charishma.Track.Hub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of hydrated search / filter results, keyed by the normalized query or filter
+ * tuple plus a generation number.
+ * - PostService bumps the generation on every post write (now, and again once the search index
+ *   has applied the committed change), so an entry computed before a write is never served after it
+ * - Entries of old generations are never looked up again and age out of the size bound
+ * - Hit / miss / eviction metrics are published as cache.* meters (cache=searchResults), plus a
+ *   cache.hit.ratio gauge
+ */
+@Service
+public class SearchResultCache {
+
+    public static final String NAME = "searchResults";
+
+    private final Cache<List<Object>, Object> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public SearchResultCache(@Value("${app.search.result-cache.max-size:500}") long maxSize,
+                             @Value("${app.search.result-cache.ttl-seconds:60}") long ttlSeconds,
+                             MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", NAME)
+                .description("Share of lookups answered from the cache since startup")
+                .register(meterRegistry);
+    }
+
+    // ✅ Cached value for the key parts at the current generation; concurrent misses run one load.
+    // `kind` separates result types ("search", "filter"), so the unchecked cast is safe.
+    @SuppressWarnings("unchecked")
+    public <T> T get(String kind, List<?> parts, Supplier<T> loader) {
+        List<Object> key = new ArrayList<>(parts.size() + 2);
+        key.add(generation.get());
+        key.add(kind);
+        key.addAll(parts);
+        return (T) cache.get(key, k -> loader.get());
+    }
+
+    /* ---------------------------------------------------------
+       Invalidation
+     --------------------------------------------------------- */
+    // Call after the write's search index update is registered, so the after-commit bump runs
+    // once the index reflects the change
+    public void bump() {
+        generation.incrementAndGet();
+        AfterCommit.run(generation::incrementAndGet);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -1,58 +1,152 @@
 package com.charishma.Track.Hub.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Asynchronous SMS OTP delivery: sendSms() only queues the message, so the request thread
+ * never waits on the gateway.
+ * - A small pool of daemon workers drains a bounded queue; when it is full the message is
+ *   dropped (and counted) rather than piling up behind a slow gateway
+ * - Retryable failures (5xx, 429, timeouts, I/O) are retried up to app.sms.max-attempts times
+ *   with exponential backoff and full jitter; retries wait on a timer, not on a worker
+ * - A circuit breaker stops calling the gateway after app.sms.breaker.failure-threshold
+ *   failures in a row and lets one trial message through after app.sms.breaker.open-ms
+ * - The wire protocol is an SmsTransport (MSG91 by default)
+ * Metrics: sms.messages (result=sent|failed|rejected), sms.queue.size, sms.breaker.open.
+ */
 @Service
 public class SmsService {
 
     private static final Logger logger = LoggerFactory.getLogger(SmsService.class);
 
-    @Value("${msg91.authkey}")
-    private String authKey;
+    private final SmsTransport transport;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryTimer;
+    private final CircuitBreaker breaker;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter rejected;
 
-    @Value("${msg91.senderid}")
-    private String senderId;
-
-    @Value("${msg91.templateid}")
-    private String templateId;
+    public SmsService(SmsTransport transport,
+                      MeterRegistry meterRegistry,
+                      @Value("${app.sms.threads:2}") int threads,
+                      @Value("${app.sms.queue-capacity:500}") int queueCapacity,
+                      @Value("${app.sms.max-attempts:3}") int maxAttempts,
+                      @Value("${app.sms.backoff-ms:500}") long backoffMs,
+                      @Value("${app.sms.breaker.failure-threshold:5}") int failureThreshold,
+                      @Value("${app.sms.breaker.open-ms:30000}") long openMs) {
+        this.transport = transport;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = backoffMs;
+        this.breaker = new CircuitBreaker(failureThreshold, Duration.ofMillis(openMs), System::nanoTime);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "sms-sender-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sms-retry");
+            t.setDaemon(true);
+            return t;
+        });
+        this.sent = Counter.builder("sms.messages").tag("result", "sent").register(meterRegistry);
+        this.failed = Counter.builder("sms.messages").tag("result", "failed").register(meterRegistry);
+        this.rejected = Counter.builder("sms.messages").tag("result", "rejected").register(meterRegistry);
+        Gauge.builder("sms.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("sms.breaker.open", breaker, b -> b.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .register(meterRegistry);
+    }
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    /* ---------------------------------------------------------
+       Sending
+     --------------------------------------------------------- */
+    // ✅ Returns at once; the future completes with true once the gateway accepted the message,
+    // false when it was dropped (queue full, circuit open) or failed for good
+    public CompletableFuture<Boolean> sendSms(String phone, String otp) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        submit(phone, otp, 1, result);
+        return result;
+    }
 
-    public boolean sendSms(String phone, String otp) {
-        String url = "https://control.msg91.com/api/v5/otp";
+    private void submit(String phone, String otp, int attempt, CompletableFuture<Boolean> result) {
+        try {
+            executor.execute(() -> attempt(phone, otp, attempt, result));
+        } catch (RejectedExecutionException ex) {
+            logger.warn("⚠️ SMS queue full, dropping OTP message to {}", phone);
+            rejected.increment();
+            result.complete(false);
+        }
+    }
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("template_id", templateId);
-        body.put("mobile", "+91" + phone);
-        body.put("otp", otp);
+    private void attempt(String phone, String otp, int attempt, CompletableFuture<Boolean> result) {
+        if (!breaker.tryAcquire()) {
+            logger.warn("⚠️ SMS gateway circuit open, dropping OTP message to {}", phone);
+            rejected.increment();
+            result.complete(false);
+            return;
+        }
+        try {
+            transport.send(phone, otp);
+            breaker.onSuccess();
+            sent.increment();
+            logger.info("✅ SMS OTP sent to {} (attempt {})", phone, attempt);
+            result.complete(true);
+        } catch (SmsTransport.DeliveryException e) {
+            if (!e.isRetryable()) {
+                breaker.onSuccess(); // the gateway is up, it refused this message
+                giveUp(phone, attempt, e, result);
+                return;
+            }
+            breaker.onFailure();
+            if (attempt >= maxAttempts || executor.isShutdown()) {
+                giveUp(phone, attempt, e, result);
+                return;
+            }
+            long delay = backoff(attempt);
+            logger.warn("SMS to {} failed (attempt {}), retrying in {} ms: {}", phone, attempt, delay, e.getMessage());
+            try {
+                retryTimer.schedule(() -> submit(phone, otp, attempt + 1, result), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException shuttingDown) {
+                giveUp(phone, attempt, e, result);
+            }
+        } catch (RuntimeException e) {
+            breaker.onFailure();
+            giveUp(phone, attempt, e, result);
+        }
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("authkey", authKey);
+    // full jitter: uniform in [0, backoff * 2^(attempt-1)]
+    private long backoff(int attempt) {
+        long cap = backoffMs << Math.min(attempt - 1, 16);
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
+    private void giveUp(String phone, int attempts, Exception e, CompletableFuture<Boolean> result) {
+        logger.error("❌ SMS OTP to {} failed after {} attempt(s): {}", phone, attempts, e.getMessage());
+        failed.increment();
+        result.complete(false);
+    }
 
-        try {
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
-            logger.info("✅ MSG91 OTP API Response [{}]: {}", response.getStatusCode(), response.getBody());
-            return response.getStatusCode().is2xxSuccessful();
-        } catch (HttpClientErrorException e) {
-            logger.error("❌ MSG91 OTP API error: Status={} Body={}", e.getStatusCode(), e.getResponseBodyAsString());
-            logger.warn("⚠️ OTP for {} is {}", phone, otp);
-            return false;
-        } catch (Exception e) {
-            logger.error("❌ Unexpected error while sending OTP: {}", e.getMessage(), e);
-            logger.warn("⚠️ OTP for {} is {}", phone, otp);
-            return false;
-        }
+    @PreDestroy
+    public void shutdown() {
+        retryTimer.shutdownNow();
+        executor.shutdown();
     }
 }
@@ -0,0 +1,26 @@
+package com.charishma.Track.Hub.service;
+
+/**
+ * Delivers one SMS OTP to a gateway. SmsService calls it from its worker threads, with retries
+ * and a circuit breaker around it. Chosen with app.sms.transport: "msg91" (Msg91SmsTransport,
+ * default) or "log" (LogSmsTransport, for local development).
+ */
+public interface SmsTransport {
+
+    // Returns normally once the gateway accepted the message
+    void send(String phone, String otp) throws DeliveryException;
+
+    class DeliveryException extends Exception {
+        private final boolean retryable;
+
+        public DeliveryException(String message, boolean retryable, Throwable cause) {
+            super(message, cause);
+            this.retryable = retryable;
+        }
+
+        // false for rejections that will fail the same way again (bad number, bad credentials)
+        public boolean isRetryable() {
+            return retryable;
+        }
+    }
+}
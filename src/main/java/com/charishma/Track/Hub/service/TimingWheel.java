@@ -0,0 +1,154 @@
+package com.charishma.Track.Hub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel: a ring of buckets advanced by one daemon thread every tick.
+ * - schedule() is O(1) and lock-free: timeouts are queued and moved into their bucket
+ *   (deadline tick mod wheel size, plus the number of full turns left) on the next tick
+ * - Each tick only visits one bucket, so thousands of pending expiries cost nothing until due
+ * - Timeouts fire up to one tick late, never early; cancelled ones are dropped when their
+ *   bucket is next visited
+ * Tasks run on the wheel thread and must be short (map removals and the like).
+ */
+class TimingWheel implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheel.class);
+
+    // One scheduled task
+    static final class Timeout {
+        private final Runnable task;
+        private final long deadline; // nanos relative to the wheel's start
+        private long rounds;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final long tickNanos;
+    private final int mask;
+    private final Queue<Timeout>[] buckets; // only touched by the wheel thread
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long start = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean closed;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(String name, Duration tickDuration, int ticksPerWheel) {
+        if (tickDuration.isZero() || tickDuration.isNegative()) {
+            throw new IllegalArgumentException("tick duration must be positive");
+        }
+        if (ticksPerWheel < 1 || ticksPerWheel > (1 << 20)) {
+            throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^20");
+        }
+        int size = 1;
+        while (size < ticksPerWheel) size <<= 1; // power of two, so a bucket is tick & mask
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = size - 1;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) buckets[i] = new ArrayDeque<>();
+        this.worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /* ---------------------------------------------------------
+       Scheduling
+     --------------------------------------------------------- */
+    Timeout schedule(Runnable task, Duration delay) {
+        if (closed) throw new IllegalStateException("Timing wheel is closed");
+        long deadline = System.nanoTime() - start + Math.max(0, delay.toNanos());
+        Timeout timeout = new Timeout(task, deadline);
+        pending.incrementAndGet();
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    // Scheduled and not yet fired or dropped (includes cancelled ones not yet reached)
+    int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+    }
+
+    /* ---------------------------------------------------------
+       Wheel thread
+     --------------------------------------------------------- */
+    private void run() {
+        while (!closed) {
+            long tickEnd = (tick + 1) * tickNanos;
+            long sleep = tickEnd - (System.nanoTime() - start);
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException ex) {
+                    if (closed) return;
+                    continue;
+                }
+            }
+            transferIncoming();
+            expire(buckets[(int) (tick & mask)], tickEnd);
+            tick++;
+        }
+    }
+
+    private void transferIncoming() {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.cancelled) {
+                pending.decrementAndGet();
+                continue;
+            }
+            // a timeout already due goes into the current bucket
+            long dueTick = Math.max(tick, timeout.deadline / tickNanos);
+            timeout.rounds = (dueTick - tick) / buckets.length;
+            buckets[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket, long tickEnd) {
+        for (Iterator<Timeout> it = bucket.iterator(); it.hasNext(); ) {
+            Timeout timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+                pending.decrementAndGet();
+            } else if (timeout.rounds > 0) {
+                timeout.rounds--;
+            } else if (timeout.deadline < tickEnd) {
+                it.remove();
+                pending.decrementAndGet();
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException ex) {
+                    LOG.warn("Timing wheel task failed", ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.repo.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repairs drift in the per-user itemsPosted / itemsReturned counters.
+ * PostService keeps them exact on every write; this job recomputes them from posts
+ * (first shortly after startup, which also fills them in on existing databases)
+ * and only rewrites users whose stored values disagree.
+ */
+@Service
+public class UserStatsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserStatsService.class);
+
+    private final UserRepository userRepository;
+    private final PostDetailCache postDetailCache;
+
+    public UserStatsService(UserRepository userRepository, PostDetailCache postDetailCache) {
+        this.userRepository = userRepository;
+        this.postDetailCache = postDetailCache;
+    }
+
+    @Scheduled(initialDelayString = "${app.user-stats.reconcile-initial-delay-ms:10000}",
+               fixedDelayString = "${app.user-stats.reconcile-interval-ms:3600000}")
+    @Transactional
+    public int reconcile() {
+        int repaired = userRepository.reconcilePostStats();
+        if (repaired > 0) {
+            LOG.warn("Repaired post counters for {} user(s)", repaired);
+            postDetailCache.invalidateAll();
+        } else {
+            LOG.debug("User post counters are consistent");
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,90 @@
+-- Schema as Hibernate (ddl-auto=update) built it before migrations were introduced
+-- (photos still inline in posts.photo_url). Existing databases are baselined at version 1
+-- and skip this script, so everything added since lives in V2 onwards.
+
+create table users (
+    id bigint not null auto_increment,
+    first_name varchar(255) not null,
+    last_name varchar(255),
+    email varchar(255) not null,
+    phone varchar(25),
+    password_hash varchar(255) not null,
+    is_verified bit,
+    role varchar(255),
+    created_at DATETIME,
+    updated_at DATETIME,
+    phone_verified TINYINT(1) DEFAULT 0 not null,
+    email_verified TINYINT(1) DEFAULT 0 not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table posts (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    title varchar(255) not null,
+    description TEXT not null,
+    location varchar(255) not null,
+    photo_url LONGBLOB,
+    category varchar(100) not null,
+    status enum ('FOUND','LOST') not null,
+    contact_public enum ('BOTH','EMAIL','PHONE') not null,
+    additional_notes TEXT,
+    created_at DATETIME,
+    updated_at DATETIME,
+    is_claimed bit,
+    primary key (id),
+    constraint fk_posts_user foreign key (user_id) references users (id)
+);
+
+create table claims (
+    id bigint not null auto_increment,
+    post_id bigint not null,
+    claimer_name varchar(255) not null,
+    claimer_email varchar(255) not null,
+    claimer_phone varchar(255),
+    claim_reason TEXT,
+    status enum ('APPROVED','PENDING','REJECTED') not null,
+    created_at DATETIME,
+    updated_at DATETIME,
+    primary key (id),
+    constraint fk_claims_post foreign key (post_id) references posts (id)
+);
+
+create table messages (
+    id bigint not null auto_increment,
+    post_id bigint not null,
+    sender_name varchar(255) not null,
+    sender_email varchar(255) not null,
+    sender_phone varchar(255),
+    message_text TEXT not null,
+    created_at DATETIME,
+    primary key (id),
+    constraint fk_messages_post foreign key (post_id) references posts (id)
+);
+
+create table otps (
+    id bigint not null auto_increment,
+    user_id bigint,
+    phone varchar(25),
+    otp_code varchar(10) not null,
+    purpose varchar(30) not null,
+    expires_at datetime(6) not null,
+    is_used bit not null,
+    created_at datetime(6) not null,
+    primary key (id)
+);
+
+-- legacy listing table (ItemController)
+create table item (
+    id bigint not null auto_increment,
+    title varchar(255),
+    description varchar(255),
+    category varchar(255),
+    location varchar(255),
+    date varchar(255),
+    status varchar(255),
+    poster varchar(255),
+    image_url varchar(255),
+    primary key (id)
+);
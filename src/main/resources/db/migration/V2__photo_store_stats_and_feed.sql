@@ -0,0 +1,49 @@
+-- Columns and tables added since the baseline. Written against the V1 schema, so it runs the same
+-- on fresh databases and on ones built by ddl-auto=update and baselined at V1.
+
+-- Photos move to the photo store (PhotoStorageService); posts keep only the key. photo_url stays
+-- until PhotoMigrationService has copied the legacy blobs out.
+alter table posts add column photo_key varchar(64);
+alter table posts add column photo_content_type varchar(50);
+
+-- Optimistic locking (Post.version)
+alter table posts add column version bigint default 0 not null;
+
+-- Denormalized profile counters (UserStatsService), filled in from the existing posts
+alter table users add column items_posted bigint default 0 not null;
+alter table users add column items_returned bigint default 0 not null;
+
+update users u set
+    items_posted = (select count(*) from posts p where p.user_id = u.id),
+    items_returned = (select count(*) from posts p where p.user_id = u.id and p.is_claimed = true);
+
+-- Keyset pagination of the feed and of a user's posts; updated_at for the search index snapshot stamp
+create index idx_posts_created_id on posts (created_at, id);
+create index idx_posts_user_created_id on posts (user_id, created_at, id);
+create index idx_posts_updated_at on posts (updated_at);
+
+-- derived data, written in the background: no foreign keys (see PostMatch)
+create table post_matches (
+    id bigint not null auto_increment,
+    post_id bigint not null,
+    matched_post_id bigint not null,
+    score float(23) not null,
+    created_at DATETIME,
+    primary key (id),
+    constraint uk_post_matches_pair unique (post_id, matched_post_id)
+);
+
+create index idx_post_matches_matched on post_matches (matched_post_id);
+
+create table saved_searches (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    query varchar(255),
+    category varchar(255),
+    status enum ('FOUND','LOST'),
+    created_at DATETIME,
+    primary key (id),
+    constraint fk_saved_searches_user foreign key (user_id) references users (id)
+);
+
+create index idx_saved_searches_user on saved_searches (user_id);
@@ -0,0 +1,21 @@
+-- Composite indexes for the per-request lookups; each column order follows the query:
+-- equality columns first, then the ORDER BY column, so the newest row is read straight off the index.
+
+-- OtpRepository.findTop...By{Phone|UserId}AndPurposeAndIsUsedFalseOrderByCreatedAtDesc
+create index idx_otps_phone_purpose_used_created on otps (phone, purpose, is_used, created_at);
+create index idx_otps_user_purpose_used_created on otps (user_id, purpose, is_used, created_at);
+
+-- PostRepository.countByUserIdAndIsClaimedTrue (profile stats)
+create index idx_posts_user_claimed on posts (user_id, is_claimed);
+
+-- PostRepository.existsByPhotoKey (photo cleanup on update / delete)
+create index idx_posts_photo_key on posts (photo_key);
+
+-- ClaimRepository.countByPostIdAndStatus (its leading post_id also serves the foreign key)
+create index idx_claims_post_status on claims (post_id, status);
+
+-- UserRepository.findByPhone (OTP login / registration)
+create index idx_users_phone on users (phone);
+
+-- MessageRepository.findByPostId (named, so the plan does not depend on the implicit foreign key index)
+create index idx_messages_post on messages (post_id);
@@ -0,0 +1,73 @@
+-- Categories and locations become lookup tables; posts keep a small integer key instead of the text.
+-- Existing values are canonicalized: trimmed, runs of spaces collapsed, and matched case-insensitively
+-- (name_key), so "Library", "library " and "LIBRARY" become one entry (see PostDictionary.key).
+
+create table categories (
+    id int not null auto_increment,
+    name varchar(100) not null,
+    name_key varchar(100) not null,
+    primary key (id),
+    constraint uk_categories_key unique (name_key)
+);
+
+create table locations (
+    id int not null auto_increment,
+    name varchar(255) not null,
+    name_key varchar(255) not null,
+    primary key (id),
+    constraint uk_locations_key unique (name_key)
+);
+
+-- each entry is shown with its most used spelling (ties: first in sort order)
+create table dictionary_spellings (
+    kind varchar(10) not null,
+    name varchar(255) not null,
+    name_key varchar(255) not null,
+    uses int not null
+);
+
+insert into dictionary_spellings (kind, name, name_key, uses)
+select 'category', v.name, lower(v.name), count(*)
+from (select regexp_replace(trim(category), ' +', ' ') as name from posts) v
+group by v.name;
+
+insert into dictionary_spellings (kind, name, name_key, uses)
+select 'location', v.name, lower(v.name), count(*)
+from (select regexp_replace(trim(location), ' +', ' ') as name from posts) v
+group by v.name;
+
+insert into categories (name, name_key)
+select min(s.name), s.name_key
+from dictionary_spellings s
+where s.kind = 'category'
+  and s.uses = (select max(t.uses) from dictionary_spellings t where t.kind = s.kind and t.name_key = s.name_key)
+group by s.name_key;
+
+insert into locations (name, name_key)
+select min(s.name), s.name_key
+from dictionary_spellings s
+where s.kind = 'location'
+  and s.uses = (select max(t.uses) from dictionary_spellings t where t.kind = s.kind and t.name_key = s.name_key)
+group by s.name_key;
+
+drop table dictionary_spellings;
+
+alter table posts add column category_id int;
+alter table posts add column location_id int;
+
+update posts set category_id = (select c.id from categories c
+                                where c.name_key = lower(regexp_replace(trim(posts.category), ' +', ' ')));
+update posts set location_id = (select l.id from locations l
+                                where l.name_key = lower(regexp_replace(trim(posts.location), ' +', ' ')));
+
+alter table posts modify category_id int not null;
+alter table posts modify location_id int not null;
+
+-- filters by category / location compare these integers (the indexes also serve the foreign keys)
+create index idx_posts_category on posts (category_id);
+create index idx_posts_location on posts (location_id);
+alter table posts add constraint fk_posts_category foreign key (category_id) references categories (id);
+alter table posts add constraint fk_posts_location foreign key (location_id) references locations (id);
+
+alter table posts drop column category;
+alter table posts drop column location;
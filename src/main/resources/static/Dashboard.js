@@ -1,9 +1,11 @@
 // dashboard.js - robust version
-const API_BASE = "http://localhost:8080/api/posts";
+const API_ORIGIN = "http://localhost:8080";
+const API_BASE = `${API_ORIGIN}/api/posts`;
 
 let currentFilter = 'all';
 let items = [];
 let filteredItems = [];
+let nextCursor = null; // cursor of the next feed page (null = no more pages)
 
 // DOM Elements
 const itemsGrid = document.getElementById('itemsGrid');
@@ -21,9 +23,11 @@ async function initDashboard() {
 }
 
 // Fetch posts from backend (with helpful logging and inline error UI)
-async function fetchItems() {
+// Without a cursor the feed starts over; with one the next page is appended.
+async function fetchItems(cursor = null) {
     try {
-        const response = await fetch(`${API_BASE}/all`, { method: 'GET' });
+        const url = cursor ? `${API_BASE}/all?cursor=${encodeURIComponent(cursor)}` : `${API_BASE}/all`;
+        const response = await fetch(url, { method: 'GET' });
         console.log('fetch /api/posts/all ->', response.status, response.statusText);
 
         if (!response.ok) {
@@ -53,8 +57,9 @@ async function fetchItems() {
             return;
         }
 
-        items = postsArray;
-        filteredItems = [...items];
+        items = cursor ? items.concat(postsArray) : postsArray;
+        nextCursor = (data && data.nextCursor) || null;
+        filterItems(currentFilter, false);
         console.log('✅ Loaded posts:', items.length);
 
     } catch (err) {
@@ -89,10 +94,8 @@ function renderItems() {
         const id = (item.id ?? item.postId ?? (item._id ? item._id : null));
         const hasId = id !== null && id !== undefined;
 
-        // handle image field permutations
-        const imageBase64 = item.photoUrl ?? item.photoBase64 ?? item.image ?? null;
-        const imageMime = item.photoMime || 'image/jpeg';
-        const imageSrc = imageBase64 ? `data:${imageMime};base64,${imageBase64}` : "placeholder.png";
+        // photos are served by the photo endpoint
+        const imageSrc = item.photoUrl ? `${API_ORIGIN}${item.photoUrl}` : "placeholder.png";
 
         const status = item.status ? String(item.status).toUpperCase() : "UNKNOWN";
         const userId = (item.user && (item.user.id || item.userId)) || item.userId || 'Unknown';
@@ -134,7 +137,18 @@ function renderItems() {
                 </div>
             </div>
         `;
-    }).join('');
+    }).join('') + (nextCursor ? `
+        <div style="grid-column: 1 / -1; text-align:center; padding:12px;">
+            <button class="btn btn-secondary" onclick="loadMoreItems()">Load more</button>
+        </div>
+    ` : '');
+}
+
+// Append the next page of the feed
+async function loadMoreItems() {
+    if (!nextCursor) return;
+    await fetchItems(nextCursor);
+    renderItems();
 }
 
 // simple HTML escape to reduce injection issues in template strings
@@ -148,14 +162,14 @@ function escapeHtml(str) {
 }
 
 // Filtering
-function filterItems(filter) {
+function filterItems(filter, render = true) {
     currentFilter = filter;
     if (filter === 'all') filteredItems = [...items];
     else if (filter === 'lost' || filter === 'found')
         filteredItems = items.filter(item => item.status && item.status.toLowerCase() === filter);
     else
         filteredItems = items.filter(item => item.category && item.category.toLowerCase() === filter);
-    renderItems();
+    if (render) renderItems();
 }
 
 // Clear filters
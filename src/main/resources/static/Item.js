@@ -1,7 +1,8 @@
 // Item.js - Enhanced version with user auto-fill for contact modal
 // -----------------------------------------------
 
-const API_BASE = "http://localhost:8080/api/posts";
+const API_ORIGIN = "http://localhost:8080";
+const API_BASE = `${API_ORIGIN}/api/posts`;
 const USER_API = "http://localhost:8080/api/users/me";
 
 let currentUser = null; // holds logged-in user info for autofill
@@ -189,10 +190,8 @@ function populateItemDetails(post) {
 
     // Image
     const mainImage = document.getElementById("mainImage");
-    const imageBase64 = post.photoBase64 ?? post.photoUrl ?? post.image ?? null;
-    const imageMime = post.photoMime || "image/jpeg";
-    if (mainImage && imageBase64) {
-        mainImage.src = `data:${imageMime};base64,${imageBase64}`;
+    if (mainImage && post.photoUrl) {
+        mainImage.src = `${API_ORIGIN}${post.photoUrl}`;
     }
 
     // Poster Info
@@ -1,5 +1,7 @@
 // MyPosts.js - fetches user's posts from backend, supports edit & delete
 
+const API_ORIGIN = "http://localhost:8080";
+
 let userPosts = [];
 let filteredPosts = [];
 let currentFilter = "all";
@@ -51,17 +53,25 @@ async function fetchProfile(email) {
 async function fetchUserPosts() {
     if (!currentUser || !currentUser.id) throw new Error("User id missing");
 
-    const postsRes = await fetch(`http://localhost:8080/api/posts/user/${currentUser.id}`);
-    if (!postsRes.ok) {
-        const txt = await postsRes.text();
-        throw new Error("Failed to fetch posts: " + txt);
-    }
+    // ✅ Follow nextCursor until all of the user's pages are loaded
+    let posts = [];
+    let cursor = null;
+    do {
+        const url = `${API_ORIGIN}/api/posts/user/${currentUser.id}?limit=100`
+            + (cursor ? `&cursor=${encodeURIComponent(cursor)}` : "");
+        const postsRes = await fetch(url);
+        if (!postsRes.ok) {
+            const txt = await postsRes.text();
+            throw new Error("Failed to fetch posts: " + txt);
+        }
 
-    const result = await postsRes.json().catch(() => null);
-    if (!result) throw new Error("Invalid JSON response from backend");
+        const result = await postsRes.json().catch(() => null);
+        if (!result) throw new Error("Invalid JSON response from backend");
 
-    // ✅ Extract array correctly whether wrapped or not
-    const posts = Array.isArray(result.data) ? result.data : result;
+        // ✅ Extract array correctly whether wrapped or not
+        posts = posts.concat(Array.isArray(result.data) ? result.data : result);
+        cursor = result.nextCursor || null;
+    } while (cursor);
 
     userPosts = posts;
     filteredPosts = [...userPosts];
@@ -83,7 +93,7 @@ function renderPosts() {
     }
 
     postsGrid.innerHTML = filteredPosts.map(post => {
-        const imageSrc = post.photoUrl ? `data:image/png;base64,${stripDataPrefix(post.photoUrl)}` : "placeholder.png";
+        const imageSrc = post.photoUrl ? `${API_ORIGIN}${post.photoUrl}` : "placeholder.png";
         const statusRaw = (post.status || "FOUND").toString();
         const status = statusRaw.toUpperCase();
 
@@ -200,7 +210,7 @@ function openEditModal(postId) {
 
     // preview photo if exists
     if (post.photoUrl) {
-        editPreview.src = post.photoUrl.startsWith("data:") ? post.photoUrl : `data:image/png;base64,${stripDataPrefix(post.photoUrl)}`;
+        editPreview.src = `${API_ORIGIN}${post.photoUrl}`;
     } else {
         editPreview.src = "placeholder.png";
     }
@@ -217,7 +227,7 @@ function closeEditModal() {
     editModal.setAttribute("aria-hidden", "true");
 }
 
-// Convert file input to base64 for photo replacement
+// Convert file input to a data URL for the local preview
 function fileToBase64(file) {
     return new Promise((resolve, reject) => {
         if (!file) return resolve(null);
@@ -241,36 +251,23 @@ editForm.addEventListener("submit", async (e) => {
         const contactPublic = document.getElementById("editContact").value.toString().toUpperCase();
         const additionalNotes = document.getElementById("editAdditionalNotes").value.trim();
 
-        // optionally new photo
-        let photoBase64 = null;
+        // Build multipart payload matching PostRequest; omitted photo keeps the current one
+        const payload = new FormData();
+        payload.append("userId", currentUser.id);
+        payload.append("title", title);
+        payload.append("category", category);
+        payload.append("description", description);
+        payload.append("location", location);
+        payload.append("status", status);
+        payload.append("contactPublic", contactPublic);
+        payload.append("additionalNotes", additionalNotes);
         if (editPhotoInput.files && editPhotoInput.files[0]) {
-            photoBase64 = await fileToBase64(editPhotoInput.files[0]);
-        } else {
-            // preserve current photo if exists
-            const existing = userPosts.find(p => p.id === postId);
-            if (existing && existing.photoUrl) {
-                // ensure it's a plain base64 string or data:...;base64,...
-                photoBase64 = existing.photoUrl;
-            }
+            payload.append("photo", editPhotoInput.files[0]);
         }
 
-        // Build payload matching PostRequest
-        const payload = {
-            userId: currentUser.id,
-            title,
-            category,
-            description,
-            location,
-            photoUrl: photoBase64,
-            status,
-            contactPublic,
-            additionalNotes
-        };
-
         const res = await fetch(`http://localhost:8080/api/posts/${postId}`, {
             method: "PUT",
-            headers: { "Content-Type": "application/json" },
-            body: JSON.stringify(payload)
+            body: payload
         });
 
         if (!res.ok) {
@@ -322,10 +319,6 @@ function setupEventListeners() {
 }
 
 // Utility helpers
-function stripDataPrefix(base64orData) {
-    if (!base64orData) return "";
-    return base64orData.replace(/^data:image\/[^;]+;base64,/, "").trim();
-}
 function escapeHtml(str) {
     if (!str) return "";
     return String(str)
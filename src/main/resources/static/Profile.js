@@ -55,13 +55,20 @@ async function fetchProfile(email) {
 // ====== Fetch User Posts & Update Stats ======
 async function fetchUserPosts(userId) {
     try {
-        const res = await fetch(`http://localhost:8080/api/posts/user/${userId}`);
-        if (!res.ok) throw new Error('Failed to fetch user posts');
-        const result = await res.json().catch(() => null);
-if (!result) throw new Error("Invalid server response");
-
-// ✅ Extract posts array safely
-const posts = Array.isArray(result.data) ? result.data : result;
+        // ✅ Follow nextCursor until all of the user's pages are loaded
+        let posts = [];
+        let cursor = null;
+        do {
+            const url = `http://localhost:8080/api/posts/user/${userId}?limit=100`
+                + (cursor ? `&cursor=${encodeURIComponent(cursor)}` : "");
+            const res = await fetch(url);
+            if (!res.ok) throw new Error('Failed to fetch user posts');
+            const result = await res.json().catch(() => null);
+            if (!result) throw new Error("Invalid server response");
+
+            posts = posts.concat(Array.isArray(result.data) ? result.data : result);
+            cursor = result.nextCursor || null;
+        } while (cursor);
 
 // Items Posted = all posts
 document.getElementById('itemsPosted').textContent = posts.length;
@@ -10,7 +10,7 @@ const locationDetails = document.getElementById('locationDetails');
 const successMessage = document.getElementById('successMessage');
 const cancelBtn = document.getElementById('cancelBtn');
 
-let base64Photo = ""; // global variable to store photo
+let selectedPhoto = null; // File chosen by the user (sent as a multipart part)
 
 // ====== Initialize Upload Page ======
 function initUpload() {
@@ -75,7 +75,7 @@ function handleFileSelect(file) {
         reader.onload = (e) => {
             previewImage.src = e.target.result;
             photoPreview.style.display = 'block';
-            base64Photo = e.target.result;
+            selectedPhoto = file;
 
             photoUpload.innerHTML = `
                 <div class="upload-icon">✅</div>
@@ -121,7 +121,7 @@ async function handleFormSubmit(e) {
     const additionalNotes = formData.get('additionalNotes');
 
     // --- Validation ---
-    if (!title || !category || !description || !location || !contactMethod || !base64Photo) {
+    if (!title || !category || !description || !location || !contactMethod || !selectedPhoto) {
         alert('Please fill in all required fields, select a category, and upload a photo.');
         return;
     }
@@ -138,26 +138,22 @@ async function handleFormSubmit(e) {
         if (!profileRes.ok) throw new Error('Failed to fetch user profile');
         const user = await profileRes.json();
 
-        // ✅ Prepare payload with category
-       const payload = {
-    userId: user.id,
-    title,
-    category,
-    description,
-    location,
-    photoUrl: base64Photo,
-    status: 'FOUND', // default
-    contactPublic: contactMethod.toUpperCase(), // EMAIL / PHONE / BOTH
-    additionalNotes
-};
-console.log("Payload being sent:", payload);
-
-
-        // Send to backend
+        // ✅ Multipart payload: post fields + raw photo file (no Base64)
+        const payload = new FormData();
+        payload.append('userId', user.id);
+        payload.append('title', title);
+        payload.append('category', category);
+        payload.append('description', description);
+        payload.append('location', location);
+        payload.append('status', 'FOUND'); // default
+        payload.append('contactPublic', contactMethod.toUpperCase()); // EMAIL / PHONE / BOTH
+        if (additionalNotes) payload.append('additionalNotes', additionalNotes);
+        payload.append('photo', selectedPhoto);
+
+        // Send to backend (browser sets the multipart boundary header)
         const res = await fetch('http://localhost:8080/api/posts/create', {
             method: 'POST',
-            headers: { 'Content-Type': 'application/json' },
-            body: JSON.stringify(payload)
+            body: payload
         });
 
         if (res.ok) {
@@ -0,0 +1,90 @@
+package com.charishma.Track.Hub.controller;
+
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * POST /api/auth/send-otp and /api/posts/{id}/contact/initiate: once a phone's bucket is empty
+ * the endpoints answer 429 with Retry-After, without issuing an OTP.
+ */
+@SpringBootTest(properties = {
+        "app.rate-limit.otp.recipient.capacity=2",
+        "app.rate-limit.otp.recipient.refill-seconds=60"
+})
+@AutoConfigureMockMvc
+class OtpRateLimitTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanup() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void sendOtpIsLimitedPerPhone() throws Exception {
+        String body = "{\"purpose\":\"REGISTER\",\"phone\":\"9000000301\"}";
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/auth/send-otp").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/api/auth/send-otp").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "60"));
+        mockMvc.perform(post("/api/auth/send-otp").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"purpose\":\"REGISTER\",\"phone\":\"9000000302\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void contactInitiationIsLimitedPerPhone() throws Exception {
+        Long postId = seedPost();
+        String body = "{\"senderPhone\":\"9000000303\",\"senderEmail\":\"finder@srkrec.ac.in\"}";
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/posts/{id}/contact/initiate", postId)
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/api/posts/{id}/contact/initiate", postId)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value("error"));
+    }
+
+    private Long seedPost() {
+        User u = new User();
+        u.setFirstName("Limits");
+        u.setEmail("limits@srkrec.ac.in");
+        u.setPasswordHash("x");
+        User owner = userRepository.save(u);
+
+        Post p = new Post();
+        p.setUser(owner);
+        p.setTitle("Grey hoodie");
+        p.setDescription("Left in the gym");
+        p.setLocation("Gym");
+        p.setCategory("Clothing");
+        return postRepository.save(p).getId();
+    }
+}
@@ -0,0 +1,124 @@
+package com.charishma.Track.Hub.controller;
+
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ETag / Last-Modified on GET /{id} and GET /all: unchanged content answers 304 with no body,
+ * any write produces a new validator.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostControllerConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private Post post;
+
+    @BeforeEach
+    void seed() {
+        User u = new User();
+        u.setFirstName("Owner");
+        u.setEmail("etag@srkrec.ac.in");
+        u.setPasswordHash("x");
+        owner = userRepository.save(u);
+
+        Post p = new Post();
+        p.setUser(owner);
+        p.setTitle("Black wallet");
+        p.setDescription("Leather wallet near the gate");
+        p.setLocation("Main gate");
+        p.setCategory("Accessories");
+        post = postRepository.save(p);
+    }
+
+    @AfterEach
+    void cleanup() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void detailAnswers304UntilPostChanges() throws Exception {
+        String url = "/api/posts/" + post.getId();
+        String etag = fetchEtag(url);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        update("{\"title\":\"Brown wallet\"}");
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title").value("Brown wallet"));
+        assertNotEquals(etag, fetchEtag(url));
+    }
+
+    @Test
+    void detailHonoursIfModifiedSince() throws Exception {
+        String url = "/api/posts/" + post.getId();
+        MvcResult first = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotNull(lastModified);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void feedAnswers304UntilAnyPostChanges() throws Exception {
+        String url = "/api/posts/all?limit=20";
+        String etag = fetchEtag(url);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        update("{\"description\":\"Leather wallet, found near the main gate\"}");
+        String updated = fetchEtag(url);
+        assertNotEquals(etag, updated);
+
+        mockMvc.perform(delete("/api/posts/" + post.getId())).andExpect(status().isOk());
+        assertNotEquals(updated, fetchEtag(url));
+    }
+
+    private String fetchEtag(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private void update(String json) throws Exception {
+        mockMvc.perform(put("/api/posts/" + post.getId()).contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk());
+    }
+}
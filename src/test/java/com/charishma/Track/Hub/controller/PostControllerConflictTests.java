@@ -0,0 +1,53 @@
+package com.charishma.Track.Hub.controller;
+
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * A write that loses the optimistic lock on Post.version answers 409 Conflict, not 500.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostControllerConflictTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PostService postService;
+
+    @Test
+    void staleUpdateAnswers409() throws Exception {
+        when(postService.updatePost(eq(7L), any(), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Post.class, 7L));
+
+        mockMvc.perform(put("/api/posts/7").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Keys\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("error"));
+    }
+
+    @Test
+    void staleDeleteAnswers409() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(Post.class, 7L)).when(postService).deletePost(7L);
+
+        mockMvc.perform(delete("/api/posts/7"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("error"));
+    }
+}
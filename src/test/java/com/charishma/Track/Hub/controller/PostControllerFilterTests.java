@@ -0,0 +1,129 @@
+package com.charishma.Track.Hub.controller;
+
+import com.charishma.Track.Hub.dto.PostRequest;
+import com.charishma.Track.Hub.dto.PostResponse;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import com.charishma.Track.Hub.service.PostSearchService;
+import com.charishma.Track.Hub.service.PostService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * GET /api/posts/filter: combined filters with facet counts that follow writes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostControllerFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void seed() throws InterruptedException {
+        for (int i = 0; i < 50 && !postSearchService.isReady(); i++) Thread.sleep(100);
+
+        User u = new User();
+        u.setFirstName("Filter");
+        u.setEmail("filter@srkrec.ac.in");
+        u.setPasswordHash("x");
+        owner = userRepository.save(u);
+    }
+
+    @AfterEach
+    void cleanup() {
+        postRepository.findAll().forEach(p -> postService.deletePost(p.getId()));
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void filtersAndCountsFacets() throws Exception {
+        PostResponse phone = create("Phone", "LOST", "electronics", "Library");
+        create("Notebook", "LOST", "books", "Library");
+        PostResponse charger = create("Charger", "FOUND", "electronics", "Canteen");
+
+        mockMvc.perform(get("/api/posts/filter").param("status", "lost").param("category", "electronics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].id").value(phone.getId()))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.facets.status.lost").value(1))
+                .andExpect(jsonPath("$.facets.status.found").value(1))
+                .andExpect(jsonPath("$.facets.category.electronics").value(1))
+                .andExpect(jsonPath("$.facets.category.books").value(1))
+                .andExpect(jsonPath("$.facets.location.library").value(1));
+
+        PostRequest claim = new PostRequest();
+        claim.setIsClaimed(true);
+        postService.updatePost(charger.getId(), claim);
+        String today = LocalDate.now().toString();
+        mockMvc.perform(get("/api/posts/filter").param("claimed", "true").param("from", today).param("to", today))
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].id").value(charger.getId()))
+                .andExpect(jsonPath("$.facets.claimed.false").value(2));
+
+        postService.deletePost(phone.getId());
+        mockMvc.perform(get("/api/posts/filter").param("location", "library").param("limit", "1"))
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    void pagesWithCursorAndRejectsBadInput() throws Exception {
+        create("Umbrella", "FOUND", "accessories", "Block A");
+        create("Bottle", "FOUND", "accessories", "Block A");
+
+        String body = mockMvc.perform(get("/api/posts/filter").param("category", "accessories").param("limit", "1"))
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.total").value(2))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(body, "$.nextCursor");
+        mockMvc.perform(get("/api/posts/filter").param("category", "accessories").param("cursor", cursor))
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].title").value("Umbrella"));
+
+        mockMvc.perform(get("/api/posts/filter").param("from", "2025-05-02").param("to", "2025-05-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/posts/filter").param("cursor", "nope"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private PostResponse create(String title, String status, String category, String location) {
+        PostRequest req = new PostRequest();
+        req.setUserId(owner.getId());
+        req.setTitle(title);
+        req.setDescription(title + " description");
+        req.setStatus(status);
+        req.setLocation(location);
+        req.setCategory(category);
+        return postService.createPost(req);
+    }
+}
@@ -0,0 +1,127 @@
+package com.charishma.Track.Hub.controller;
+
+import com.charishma.Track.Hub.dto.PostRequest;
+import com.charishma.Track.Hub.dto.PostResponse;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostMatchRepository;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import com.charishma.Track.Hub.service.PostMatchService;
+import com.charishma.Track.Hub.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * GET /api/posts/{id}/matches: background lost-to-found matching, stored for both sides.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostControllerMatchTests {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostMatchService postMatchService;
+
+    @Autowired
+    private PostMatchRepository postMatchRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void seed() throws Exception {
+        postMatchService.awaitIdle(WAIT);
+        User u = new User();
+        u.setFirstName("Match");
+        u.setEmail("match@srkrec.ac.in");
+        u.setPasswordHash("x");
+        owner = userRepository.save(u);
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        postMatchService.awaitIdle(WAIT);
+        postRepository.findAll().forEach(p -> postService.deletePost(p.getId()));
+        postMatchService.awaitIdle(WAIT);
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void matchesNewPostsAgainstOppositeStatus() throws Exception {
+        PostResponse found = create("Black wallet", "FOUND", "Leather wallet with a library card", "accessories", "Library");
+        PostResponse otherLost = create("Black wallet", "LOST", "Leather wallet", "accessories", "Library");
+        create("Calculator", "FOUND", "Casio calculator", "electronics", "Canteen");
+        PostResponse lost = create("Lost my black wallet", "LOST", "Leather wallet, library card inside", "accessories", "Library");
+        postMatchService.awaitIdle(WAIT);
+
+        mockMvc.perform(get("/api/posts/" + lost.getId() + "/matches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].post.id").value(found.getId()))
+                .andExpect(jsonPath("$.data[0].score").isNumber());
+        // the found post sees both lost reports
+        mockMvc.perform(get("/api/posts/" + found.getId() + "/matches"))
+                .andExpect(jsonPath("$.data", hasSize(2)));
+
+        PostRequest claim = new PostRequest();
+        claim.setIsClaimed(true);
+        postService.updatePost(found.getId(), claim);
+        postMatchService.awaitIdle(WAIT);
+        mockMvc.perform(get("/api/posts/" + lost.getId() + "/matches"))
+                .andExpect(jsonPath("$.data", hasSize(0)));
+        mockMvc.perform(get("/api/posts/" + otherLost.getId() + "/matches"))
+                .andExpect(jsonPath("$.data", hasSize(0)));
+    }
+
+    @Test
+    void deletingPostDropsItsMatches() throws Exception {
+        PostResponse found = create("Blue umbrella", "FOUND", "Folding umbrella", "accessories", "Block A");
+        PostResponse lost = create("Umbrella", "LOST", "Blue folding umbrella", "accessories", "Block A");
+        postMatchService.awaitIdle(WAIT);
+        mockMvc.perform(get("/api/posts/" + found.getId() + "/matches"))
+                .andExpect(jsonPath("$.data", hasSize(1)));
+
+        postService.deletePost(lost.getId());
+        mockMvc.perform(get("/api/posts/" + found.getId() + "/matches"))
+                .andExpect(jsonPath("$.data", hasSize(0)));
+        assertTrue(postMatchRepository.findByPostIdOrderByScoreDesc(lost.getId()).isEmpty());
+
+        mockMvc.perform(get("/api/posts/" + lost.getId() + "/matches"))
+                .andExpect(status().isNotFound());
+    }
+
+    private PostResponse create(String title, String status, String description, String category, String location) {
+        PostRequest req = new PostRequest();
+        req.setUserId(owner.getId());
+        req.setTitle(title);
+        req.setStatus(status);
+        req.setDescription(description);
+        req.setLocation(location);
+        req.setCategory(category);
+        return postService.createPost(req);
+    }
+}
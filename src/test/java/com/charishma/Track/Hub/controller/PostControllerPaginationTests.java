@@ -0,0 +1,138 @@
+package com.charishma.Track.Hub.controller;
+
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import com.charishma.Track.Hub.service.PostService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Cursor pagination of GET /all and GET /user/{id}: walking the cursors returns every post exactly
+ * once even when they share a createdAt, a malformed cursor is a 400, and limit is capped.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostControllerPaginationTests {
+
+    private static final int POSTS = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private List<Long> ids;
+
+    @BeforeEach
+    void seed() {
+        User u = new User();
+        u.setFirstName("Pager");
+        u.setEmail("pager@srkrec.ac.in");
+        u.setPasswordHash("x");
+        owner = userRepository.save(u);
+
+        ids = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) ids.add(save("Page item " + i).getId());
+        // same timestamp for all: only the id tie-breaker orders them
+        jdbcTemplate.update("update posts set created_at = '2025-03-01 09:30:00' where user_id = ?", owner.getId());
+        ids.sort(Comparator.reverseOrder());
+    }
+
+    @AfterEach
+    void cleanup() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void feedCursorsVisitEveryPostOnceWithEqualTimestamps() throws Exception {
+        List<Long> seen = walk("/api/posts/all");
+        assertEquals(ids, seen.stream().filter(ids::contains).toList());
+    }
+
+    @Test
+    void userCursorsVisitEveryPostOnceWithEqualTimestamps() throws Exception {
+        assertEquals(ids, walk("/api/posts/user/" + owner.getId()));
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        for (String url : List.of("/api/posts/all", "/api/posts/user/" + owner.getId())) {
+            mockMvc.perform(get(url).param("cursor", "not-a-cursor"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid cursor"));
+            mockMvc.perform(get(url).param("limit", "0"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void limitIsCappedAtMaxPageSize() throws Exception {
+        for (int i = POSTS; i <= PostService.MAX_PAGE_SIZE; i++) save("Page item " + i);
+
+        mockMvc.perform(get("/api/posts/user/" + owner.getId()).param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(PostService.MAX_PAGE_SIZE)))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()));
+        mockMvc.perform(get("/api/posts/all").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(PostService.MAX_PAGE_SIZE)));
+    }
+
+    // follows nextCursor three posts at a time, checking no page repeats an id
+    private List<Long> walk(String url) throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get(url).param("limit", "3");
+            if (cursor != null) request.param("cursor", cursor);
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> page = JsonPath.read(body, "$.data[*].id");
+            for (Number id : page) {
+                assertEquals(-1, seen.indexOf(id.longValue()), "post " + id + " returned twice");
+                seen.add(id.longValue());
+            }
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+        return seen;
+    }
+
+    private Post save(String title) {
+        Post p = new Post();
+        p.setUser(owner);
+        p.setTitle(title);
+        p.setDescription("Paged");
+        p.setLocation("Library");
+        p.setCategory("Books");
+        return postRepository.save(p);
+    }
+}
@@ -0,0 +1,238 @@
+package com.charishma.Track.Hub.controller;
+
+import com.charishma.Track.Hub.dto.PhotoSize;
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import com.charishma.Track.Hub.service.PhotoStorageService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Multipart photo uploads end to end: oversized and non-image uploads are refused, GET /{id}/photo
+ * streams the stored bytes, small/medium variants are generated after upload and the original is
+ * served while a variant is missing, posts with the same photo share one file, and the file goes
+ * only when the last post using it is deleted.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostControllerPhotoTests {
+
+    // PNG signature and junk: accepted by the store, not decodable (so no variants are generated)
+    private static final byte[] PHOTO = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 7, 7, 7};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PhotoStorageService photoStorageService;
+
+    @Value("${app.photos.dir}")
+    private String photosDir;
+
+    private User owner;
+
+    @BeforeEach
+    void seed() {
+        User u = new User();
+        u.setFirstName("Owner");
+        u.setEmail("photo@srkrec.ac.in");
+        u.setPasswordHash("x");
+        owner = userRepository.save(u);
+    }
+
+    @AfterEach
+    void cleanup() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void streamsStoredPhoto() throws Exception {
+        long id = create("Striped scarf");
+        String key = postRepository.findById(id).map(Post::getPhotoKey).orElseThrow();
+
+        mockMvc.perform(get("/api/posts/" + id + "/photo"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + key + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().bytes(PHOTO));
+
+        mockMvc.perform(get("/api/posts/" + id + "/photo").param("v", key.substring(0, 12)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"));
+    }
+
+    @Test
+    void variantsAreGeneratedAndServed() throws Exception {
+        long id = create("Teal raincoat", decodablePng());
+        String key = postRepository.findById(id).map(Post::getPhotoKey).orElseThrow();
+        awaitVariants(key);
+
+        for (PhotoSize size : PhotoSize.values()) {
+            byte[] body = mockMvc.perform(get("/api/posts/" + id + "/photo")
+                            .param("size", size.param()).param("v", key.substring(0, 12)))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("image/jpeg"))
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + key + "-w" + size.getWidth() + "\""))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertEquals(size.getWidth(), ImageIO.read(new ByteArrayInputStream(body)).getWidth());
+        }
+    }
+
+    @Test
+    void sizedRequestFallsBackToOriginalWhileVariantIsMissing() throws Exception {
+        // not decodable: no variant will ever exist
+        long id = create("Striped scarf");
+        String key = postRepository.findById(id).map(Post::getPhotoKey).orElseThrow();
+        for (PhotoSize size : PhotoSize.values()) {
+            assertOriginalServed(id, key, size, PHOTO);
+        }
+
+        // decodable, but a variant file has gone missing since generation
+        byte[] png = decodablePng();
+        long withVariants = create("Teal raincoat spare", png);
+        String variantKey = postRepository.findById(withVariants).map(Post::getPhotoKey).orElseThrow();
+        awaitVariants(variantKey);
+        Files.delete(variantPath(variantKey, PhotoSize.SMALL));
+        assertOriginalServed(withVariants, variantKey, PhotoSize.SMALL, png);
+    }
+
+    @Test
+    void postWithoutPhotoAnswers404() throws Exception {
+        Post p = new Post();
+        p.setUser(owner);
+        p.setTitle("No photo");
+        p.setDescription("Nothing attached");
+        p.setLocation("Library");
+        p.setCategory("Books");
+        long id = postRepository.save(p).getId();
+
+        mockMvc.perform(get("/api/posts/" + id + "/photo")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/posts/" + id + "/photo").param("size", "huge")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsOversizedAndNonImageUploads() throws Exception {
+        byte[] oversized = Arrays.copyOf(PHOTO, 5 * 1024 * 1024 + 1); // app.photos.max-bytes + 1
+        mockMvc.perform(upload("Too big", oversized))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Photo exceeds the 5 MB limit"));
+
+        byte[] text = "just some text, not a photo".getBytes(StandardCharsets.US_ASCII);
+        mockMvc.perform(upload("Not an image", text))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("Unsupported photo format")));
+
+        assertEquals(0, postRepository.count());
+    }
+
+    @Test
+    void sharedPhotoIsDeletedWithItsLastPost() throws Exception {
+        long first = create("Mauve flask");
+        long second = create("Mauve flask again");
+        String key = postRepository.findById(first).map(Post::getPhotoKey).orElseThrow();
+        assertEquals(key, postRepository.findById(second).map(Post::getPhotoKey).orElseThrow());
+
+        mockMvc.perform(delete("/api/posts/" + first)).andExpect(status().isOk());
+        assertTrue(photoStorageService.exists(key));
+        mockMvc.perform(get("/api/posts/" + second + "/photo"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(PHOTO));
+
+        mockMvc.perform(delete("/api/posts/" + second)).andExpect(status().isOk());
+        assertFalse(photoStorageService.exists(key));
+    }
+
+    // the original, uncached since the variant URL will serve the JPEG once it exists
+    private void assertOriginalServed(long id, String key, PhotoSize size, byte[] original) throws Exception {
+        mockMvc.perform(get("/api/posts/" + id + "/photo").param("size", size.param()).param("v", key.substring(0, 12)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + key + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().bytes(original));
+    }
+
+    private void awaitVariants(String key) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!Arrays.stream(PhotoSize.values()).allMatch(s -> photoStorageService.variantExists(key, s.getWidth()))) {
+            assertTrue(System.currentTimeMillis() < deadline, "variants not generated for " + key);
+            Thread.sleep(50);
+        }
+    }
+
+    private Path variantPath(String key, PhotoSize size) {
+        return Path.of(photosDir, key.substring(0, 2), key + "_w" + size.getWidth() + ".jpg");
+    }
+
+    // 800x600, wider than every variant
+    private static byte[] decodablePng() throws IOException {
+        BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.CYAN, 800, 600, Color.DARK_GRAY));
+        g.fillRect(0, 0, 800, 600);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private long create(String title) throws Exception {
+        return create(title, PHOTO);
+    }
+
+    private long create(String title, byte[] photo) throws Exception {
+        String body = mockMvc.perform(upload(title, photo))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.data.id")).longValue();
+    }
+
+    private MockHttpServletRequestBuilder upload(String title, byte[] photo) {
+        return multipart("/api/posts/create")
+                .file(new MockMultipartFile("photo", "photo.png", "image/png", photo))
+                .param("userId", owner.getId().toString())
+                .param("title", title)
+                .param("description", "Left on a bench")
+                .param("location", "Hostel gate")
+                .param("category", "Clothing")
+                .param("status", "FOUND")
+                .param("contactPublic", "EMAIL");
+    }
+}
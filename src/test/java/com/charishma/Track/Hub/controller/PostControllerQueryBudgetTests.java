@@ -0,0 +1,120 @@
+package com.charishma.Track.Hub.controller;
+
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.ClaimRepository;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import com.charishma.Track.Hub.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fails when a post endpoint runs more SQL statements than its budget.
+ * Posts are spread across several owners, so any per-post lazy load of the owner
+ * (N+1) pushes the list endpoints over budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostControllerQueryBudgetTests {
+
+    private static final int POSTS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    private User owner;
+    private Post post;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < POSTS; i++) {
+            User u = new User();
+            u.setFirstName("Owner" + i);
+            u.setEmail("owner" + i + "@srkrec.ac.in");
+            u.setPasswordHash("x");
+            u = userRepository.save(u);
+
+            Post p = new Post();
+            p.setUser(u);
+            p.setTitle("Blue bottle " + i);
+            p.setDescription("Steel bottle with stickers");
+            p.setLocation("Library");
+            p.setCategory("Accessories");
+            p = postRepository.save(p);
+            if (i == 0) {
+                owner = u;
+                post = p;
+            }
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        claimRepository.deleteAllInBatch();
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void listEndpointsStayWithinBudget() throws Exception {
+        // one page query (the ETag is computed from its rows)
+        assertBudget("GET /all", get("/api/posts/all?limit=50"), status().isOk(), 1);
+        assertBudget("GET /user/{id}", get("/api/posts/user/" + owner.getId()), status().isOk(), 2);
+    }
+
+    @Test
+    void singlePostEndpointsStayWithinBudget() throws Exception {
+        assertBudget("GET /{id}", get("/api/posts/" + post.getId()), status().isOk(), 1);
+        // the seeded post has no photo
+        assertBudget("GET /{id}/photo", get("/api/posts/" + post.getId() + "/photo"), status().isNotFound(), 1);
+        assertBudget("POST /{id}/claim", post("/api/posts/" + post.getId() + "/claim")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"claimerName\":\"A\",\"claimerEmail\":\"a@srkrec.ac.in\"}"), status().isOk(), 2);
+    }
+
+    @Test
+    void writeEndpointsStayWithinBudget() throws Exception {
+        // insert + owner counter update after the user lookup
+        assertBudget("POST /create", post("/api/posts/create")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":" + owner.getId() + ",\"title\":\"Keys\",\"description\":\"Bunch of keys\","
+                        + "\"location\":\"Canteen\",\"category\":\"Accessories\"}"), status().isOk(), 3);
+        assertBudget("PUT /{id}", put("/api/posts/" + post.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Red bottle\"}"), status().isOk(), 2);
+        // select + stored matches + delete + owner counter update (+ photo reference check when the post has a photo)
+        assertBudget("DELETE /{id}", delete("/api/posts/" + post.getId()), status().isOk(), 5);
+    }
+
+    // the status check keeps an endpoint that fails early (and so runs few statements) from passing
+    private void assertBudget(String endpoint, RequestBuilder request, ResultMatcher expectedStatus, int budget)
+            throws Exception {
+        SqlStatementCounter.reset();
+        mockMvc.perform(request).andExpect(expectedStatus);
+        int count = SqlStatementCounter.count();
+        assertTrue(count <= budget, endpoint + " ran " + count + " statements (budget " + budget + "): "
+                + String.join(" | ", SqlStatementCounter.statements()));
+    }
+}
@@ -0,0 +1,134 @@
+package com.charishma.Track.Hub.controller;
+
+import com.charishma.Track.Hub.dto.PostRequest;
+import com.charishma.Track.Hub.dto.PostResponse;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import com.charishma.Track.Hub.service.PostSearchService;
+import com.charishma.Track.Hub.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * GET /api/posts/search and /suggest: ranked results and completions that follow creates, updates and deletes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostControllerSearchTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void seed() throws InterruptedException {
+        for (int i = 0; i < 50 && !postSearchService.isReady(); i++) Thread.sleep(100);
+
+        User u = new User();
+        u.setFirstName("Search");
+        u.setEmail("search@srkrec.ac.in");
+        u.setPasswordHash("x");
+        owner = userRepository.save(u);
+    }
+
+    @AfterEach
+    void cleanup() {
+        postRepository.findAll().forEach(p -> postService.deletePost(p.getId()));
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void ranksAndFollowsWrites() throws Exception {
+        PostResponse earpods = create("White earpods", "Earpods case near the canteen counter", "Electronics");
+        PostResponse bottle = create("Blue bottle", "Steel bottle, left after lab", "Accessories");
+        create("Charger", "Laptop charger, the cable has earpods stickers", "Electronics");
+
+        mockMvc.perform(get("/api/posts/search").param("q", "EarPod"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].id").value(earpods.getId()));
+
+        PostRequest rename = new PostRequest();
+        rename.setTitle("Blue flask");
+        postService.updatePost(bottle.getId(), rename);
+        mockMvc.perform(get("/api/posts/search").param("q", "flask"))
+                .andExpect(jsonPath("$.data[0].id").value(bottle.getId()));
+
+        postService.deletePost(earpods.getId());
+        mockMvc.perform(get("/api/posts/search").param("q", "earpods").param("limit", "5"))
+                .andExpect(jsonPath("$.data", hasSize(1)));
+    }
+
+    @Test
+    void fuzzyModeToleratesTypos() throws Exception {
+        PostResponse earpods = create("White earpods", "Earpods case near the canteen counter", "Electronics");
+
+        mockMvc.perform(get("/api/posts/search").param("q", "airpod"))
+                .andExpect(jsonPath("$.data", hasSize(0)));
+        mockMvc.perform(get("/api/posts/search").param("q", "airpod").param("mode", "fuzzy"))
+                .andExpect(jsonPath("$.data[0].id").value(earpods.getId()));
+        mockMvc.perform(get("/api/posts/search").param("q", "ear pods").param("mode", "fuzzy"))
+                .andExpect(jsonPath("$.data[0].id").value(earpods.getId()));
+    }
+
+    @Test
+    void suggestsCompletionsThatFollowWrites() throws Exception {
+        create("Blue bottle", "Steel bottle", "Accessories");
+        PostResponse umbrella = create("Blue umbrella", "Folding umbrella", "Accessories");
+        create("Blue bottle", "Plastic bottle", "Accessories");
+
+        mockMvc.perform(get("/api/posts/suggest").param("q", "Blu"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].text").value("blue bottle"))
+                .andExpect(jsonPath("$.data[0].count").value(2))
+                .andExpect(jsonPath("$.data[1].field").value("TITLE"));
+
+        postService.deletePost(umbrella.getId());
+        mockMvc.perform(get("/api/posts/suggest").param("q", "umb"))
+                .andExpect(jsonPath("$.data", hasSize(0)));
+        mockMvc.perform(get("/api/posts/suggest").param("q", "blo").param("limit", "1"))
+                .andExpect(jsonPath("$.data[0].text").value("block a"));
+    }
+
+    @Test
+    void rejectsEmptyQueryAndUnknownMode() throws Exception {
+        mockMvc.perform(get("/api/posts/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/posts/search").param("q", "bottle").param("mode", "regex"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private PostResponse create(String title, String description, String category) {
+        PostRequest req = new PostRequest();
+        req.setUserId(owner.getId());
+        req.setTitle(title);
+        req.setDescription(description);
+        req.setLocation("Block A");
+        req.setCategory(category);
+        return postService.createPost(req);
+    }
+}
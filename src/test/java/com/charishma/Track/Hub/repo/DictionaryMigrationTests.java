@@ -0,0 +1,51 @@
+package com.charishma.Track.Hub.repo;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * V4 on a database with free-text categories / locations: spellings that differ only in case and
+ * spacing collapse into one dictionary entry (shown with its most used spelling) and every post
+ * points at it.
+ */
+class DictionaryMigrationTests {
+
+    @Test
+    void canonicalizesExistingValues() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:dictionary_migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).target("3").load().migrate();
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into users (id, first_name, email, password_hash) values (1, 'M', 'm@srkrec.ac.in', 'x')");
+        String insert = "insert into posts (user_id, title, description, location, category, status, contact_public) "
+                + "values (1, 'Item', 'Desc', ?, ?, 'LOST', 'EMAIL')";
+        jdbc.update(insert, "Library", "Electronics");
+        jdbc.update(insert, " library  ", "electronics");
+        jdbc.update(insert, "Block  A", "ELECTRONICS ");
+        jdbc.update(insert, "block a", "Books");
+        jdbc.update(insert, "Library", "Electronics");
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        // most used spelling wins
+        assertEquals(List.of("Books", "Electronics"),
+                jdbc.queryForList("select name from categories order by name_key", String.class));
+        assertEquals(List.of("Block A", "Library"),
+                jdbc.queryForList("select name from locations order by name_key", String.class));
+        List<Map<String, Object>> posts = jdbc.queryForList(
+                "select c.name_key as category, l.name_key as location from posts p "
+                        + "join categories c on c.id = p.category_id join locations l on l.id = p.location_id order by p.id");
+        assertEquals(List.of("electronics", "electronics", "electronics", "books", "electronics"),
+                posts.stream().map(r -> r.get("category")).toList());
+        assertEquals(List.of("library", "library", "block a", "block a", "library"),
+                posts.stream().map(r -> r.get("location")).toList());
+    }
+}
@@ -0,0 +1,115 @@
+package com.charishma.Track.Hub.repo;
+
+import com.charishma.Track.Hub.model.Claim;
+import com.charishma.Track.Hub.support.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every per-request repository query runs off an index: each one is executed once against the
+ * migrated H2 schema, and the SQL Hibernate sent is run through EXPLAIN. A "tableScan" in any
+ * plan fails the test with the offending plan.
+ * Not covered on purpose: whole-table reads (findAll*, findAllIds, the feed version aggregate,
+ * counter reconciliation) and the legacy "containing" finders, which cannot use a B-tree index.
+ */
+@SpringBootTest
+class QueryPlanTests {
+
+    @Autowired private OtpRepository otpRepository;
+    @Autowired private PostRepository postRepository;
+    @Autowired private ClaimRepository claimRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private MessageRepository messageRepository;
+    @Autowired private PostMatchRepository postMatchRepository;
+    @Autowired private SavedSearchRepository savedSearchRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private DataSource dataSource;
+
+    @Test
+    void hotQueriesUseAnIndex() throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest limit = PageRequest.of(0, 20);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("OtpRepository.findTopByPhoneAndPurposeAndIsUsedFalseOrderByCreatedAtDesc",
+                () -> otpRepository.findTopByPhoneAndPurposeAndIsUsedFalseOrderByCreatedAtDesc("9000000000", "LOGIN"));
+        queries.put("OtpRepository.findTopByUserIdAndPurposeAndIsUsedFalseOrderByCreatedAtDesc",
+                () -> otpRepository.findTopByUserIdAndPurposeAndIsUsedFalseOrderByCreatedAtDesc(1L, "CONTACT"));
+        queries.put("OtpRepository.findLatestUnusedIds",
+                () -> otpRepository.findLatestUnusedIds("9000000000", "LOGIN", PageRequest.of(0, 1)));
+        queries.put("OtpRepository.consume",
+                () -> tx.executeWithoutResult(s -> otpRepository.consume(1L, "123456", now)));
+        queries.put("OtpRepository.findFirstIdFrom", () -> otpRepository.findFirstIdFrom(1L));
+        queries.put("OtpRepository.purgeRange",
+                () -> tx.executeWithoutResult(s -> otpRepository.purgeRange(1L, 1_001L, now)));
+        queries.put("PostRepository.findAllByOrderByCreatedAtDesc", postRepository::findAllByOrderByCreatedAtDesc);
+        queries.put("PostRepository.countByUserIdAndIsClaimedTrue", () -> postRepository.countByUserIdAndIsClaimedTrue(1L));
+        queries.put("PostRepository.countByUserId", () -> postRepository.countByUserId(1L));
+        queries.put("PostRepository.findWithUserById", () -> postRepository.findWithUserById(1L));
+        queries.put("PostRepository.findByUserId", () -> postRepository.findByUserId(1L));
+        queries.put("PostRepository.existsByPhotoKey", () -> postRepository.existsByPhotoKey("abc"));
+        queries.put("PostRepository.findFirstPage", () -> postRepository.findFirstPage(limit));
+        queries.put("PostRepository.findPageAfter", () -> postRepository.findPageAfter(now, 1L, limit));
+        queries.put("PostRepository.findUserFirstPage", () -> postRepository.findUserFirstPage(1L, limit));
+        queries.put("PostRepository.findUserPageAfter", () -> postRepository.findUserPageAfter(1L, now, 1L, limit));
+        queries.put("PostRepository.findResponsesByIdIn", () -> postRepository.findResponsesByIdIn(List.of(1L, 2L)));
+        queries.put("PostRepository.findByCategory", () -> postRepository.findByCategory("Electronics"));
+        queries.put("PostRepository.findByLocationIn", () -> postRepository.findByLocationIn(List.of("Library", "Canteen")));
+        queries.put("PostRepository.findDocumentsAfter", () -> postRepository.findDocumentsAfter(0L, limit));
+        queries.put("PostRepository.findDocumentsUpdatedSince", () -> postRepository.findDocumentsUpdatedSince(now, 0L, limit));
+        queries.put("PostRepository.findLastUpdatedAt", postRepository::findLastUpdatedAt);
+        queries.put("ClaimRepository.countByPostIdAndStatus", () -> claimRepository.countByPostIdAndStatus(1L, Claim.Status.PENDING));
+        queries.put("ClaimRepository.findByPostId", () -> claimRepository.findByPostId(1L));
+        queries.put("UserRepository.findByPhone", () -> userRepository.findByPhone("9000000000"));
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("a@srkrec.ac.in"));
+        queries.put("MessageRepository.findByPostId", () -> messageRepository.findByPostId(1L));
+        queries.put("PostMatchRepository.findByPostIdOrderByScoreDesc", () -> postMatchRepository.findByPostIdOrderByScoreDesc(1L));
+        queries.put("PostMatchRepository.deleteInvolving",
+                () -> tx.executeWithoutResult(s -> postMatchRepository.deleteInvolving(1L)));
+        queries.put("SavedSearchRepository.findByUserId", () -> savedSearchRepository.findByUserId(1L));
+        queries.put("SavedSearchRepository.findWithUserByIdIn", () -> savedSearchRepository.findWithUserByIdIn(List.of(1L, 2L)));
+
+        List<String> fullScans = new ArrayList<>();
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            SqlStatementCounter.reset();
+            query.getValue().run();
+            List<String> statements = SqlStatementCounter.statements();
+            assertFalse(statements.isEmpty(), query.getKey() + " sent no SQL");
+            for (String sql : statements) {
+                String plan = explain(sql);
+                if (plan.contains(".tableScan")) fullScans.add(query.getKey() + ":\n" + plan);
+            }
+        }
+        assertTrue(fullScans.isEmpty(), "Full table scans:\n\n" + String.join("\n\n", fullScans));
+    }
+
+    // H2 plans without the parameter values, so they are all bound to null
+    private String explain(String sql) throws SQLException {
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("EXPLAIN " + sql)) {
+            int params = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= params; i++) ps.setObject(i, null);
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) plan.append(rs.getString(1));
+            }
+            return plan.toString();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.charishma.Track.Hub.repo;
+
+import com.charishma.Track.Hub.TrackHubApplication;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Upgrade path of a database that ddl-auto=update built before migrations existed: the baseline
+ * schema with data in it and no Flyway history. Starting the application must baseline it at V1,
+ * apply V2 onwards and pass Hibernate's validate, keeping the existing rows.
+ */
+class SchemaUpgradeTests {
+
+    private static final String URL =
+            "jdbc:h2:mem:schema_upgrade;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void upgradesPreMigrationDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into users (id, first_name, email, password_hash, phone_verified, email_verified) "
+                + "values (1, 'M', 'm@srkrec.ac.in', 'x', 0, 0)");
+        String insert = "insert into posts (user_id, title, description, location, category, status, "
+                + "contact_public, is_claimed, photo_url, created_at) values (1, ?, 'Desc', 'Library', 'Books', "
+                + "'LOST', 'EMAIL', ?, ?, '2024-01-01 10:00:00')";
+        jdbc.update(insert, "Wallet", true, null);
+        jdbc.update(insert, "Notes", false, new byte[]{1, 2, 3});
+
+        try (ConfigurableApplicationContext ignored = new SpringApplicationBuilder(TrackHubApplication.class)
+                .run("--spring.datasource.url=" + URL, "--server.port=0",
+                        "--spring.flyway.baseline-on-migrate=true", "--spring.flyway.baseline-version=1")) {
+            assertEquals(List.of("1", "2", "3", "4"), Arrays.stream(
+                    Flyway.configure().dataSource(dataSource).load().info().applied())
+                    .map(m -> m.getVersion().getVersion()).toList());
+
+            Map<String, Object> user = jdbc.queryForMap("select items_posted, items_returned from users where id = 1");
+            assertEquals(2L, ((Number) user.get("items_posted")).longValue());
+            assertEquals(1L, ((Number) user.get("items_returned")).longValue());
+
+            List<Map<String, Object>> posts = jdbc.queryForList(
+                    "select p.title, p.version, c.name as category from posts p "
+                            + "join categories c on c.id = p.category_id order by p.id");
+            assertEquals(List.of("Wallet", "Notes"), posts.stream().map(r -> r.get("title")).toList());
+            assertEquals("Books", posts.get(0).get("category"));
+            assertNotNull(posts.get(0).get("version"));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.charishma.Track.Hub.search;
+
+import com.charishma.Track.Hub.model.Post;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetIndexTests {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    @Test
+    void combinesFiltersAndCountsFacetsDisjunctively() {
+        FacetIndex index = seeded();
+
+        FacetIndex.Result result = index.query(new FacetIndex.Query()
+                .where(FacetIndex.STATUS, List.of("LOST"))
+                .where(FacetIndex.CATEGORY, List.of("Electronics")), 10);
+
+        assertEquals(List.of(3L, 1L), result.getIds());
+        assertEquals(2, result.getTotal());
+        // the selected dimension still shows its other values
+        assertEquals(Map.of("lost", 2, "found", 1), result.getFacets().get(FacetIndex.STATUS));
+        assertEquals(Map.of("electronics", 2), result.getFacets().get(FacetIndex.CATEGORY));
+        assertEquals(Map.of("library", 1, "main gate", 1), result.getFacets().get(FacetIndex.LOCATION));
+        assertEquals(Map.of("false", 1, "true", 1), result.getFacets().get(FacetIndex.CLAIMED));
+    }
+
+    @Test
+    void orsWithinDimensionAndFiltersByDateRange() {
+        FacetIndex index = seeded();
+
+        assertEquals(List.of(4L, 3L, 1L), index.query(new FacetIndex.Query()
+                .where(FacetIndex.LOCATION, List.of("library", " MAIN  gate ")), 10).getIds());
+        assertEquals(List.of(3L, 2L), index.query(new FacetIndex.Query()
+                .createdBetween(DAY.plusDays(1), DAY.plusDays(3)), 10).getIds());
+        assertEquals(List.of(2L), index.query(new FacetIndex.Query()
+                .where(FacetIndex.CLAIMED, List.of("true"))
+                .where(FacetIndex.STATUS, List.of("found")), 10).getIds());
+    }
+
+    @Test
+    void pagesNewestFirstWithCursor() {
+        FacetIndex index = seeded();
+
+        FacetIndex.Result first = index.query(new FacetIndex.Query(), 3);
+        assertEquals(List.of(4L, 3L, 2L), first.getIds());
+        assertTrue(first.isHasMore());
+
+        FacetIndex.Result second = index.query(new FacetIndex.Query()
+                .after(first.getLastCreatedAt(), first.getLastId()), 3);
+        assertEquals(List.of(1L), second.getIds());
+        assertFalse(second.isHasMore());
+        assertEquals(4, second.getTotal());
+    }
+
+    @Test
+    void updatesAndRemovesIncrementally() {
+        FacetIndex index = seeded();
+
+        index.put(doc(1, Post.Status.LOST, "Books", "Library", true, DAY));
+        index.remove(4);
+
+        FacetIndex.Result result = index.query(new FacetIndex.Query(), 10);
+        assertEquals(3, index.size());
+        assertEquals(Map.of("books", 2, "electronics", 1), result.getFacets().get(FacetIndex.CATEGORY));
+        assertEquals(Map.of("library", 2, "canteen", 1), result.getFacets().get(FacetIndex.LOCATION));
+        assertFalse(index.putIfAbsent(doc(1, Post.Status.FOUND, "Keys", "Hostel", false, DAY)));
+    }
+
+    private static FacetIndex seeded() {
+        FacetIndex index = new FacetIndex();
+        index.put(doc(1, Post.Status.LOST, "Electronics", "Main Gate", false, DAY));
+        index.put(doc(2, Post.Status.FOUND, "Books", "Canteen", true, DAY.plusDays(1)));
+        index.put(doc(3, Post.Status.LOST, "electronics", "Library", true, DAY.plusDays(2)));
+        index.put(doc(4, Post.Status.FOUND, "Electronics", "library", false, DAY.plusDays(5)));
+        return index;
+    }
+
+    private static PostDocument doc(long id, Post.Status status, String category, String location,
+                                    boolean claimed, LocalDateTime createdAt) {
+        return new PostDocument(id, "title " + id, null, location, category, status, claimed, createdAt);
+    }
+}
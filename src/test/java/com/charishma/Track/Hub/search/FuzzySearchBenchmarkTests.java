@@ -0,0 +1,84 @@
+package com.charishma.Track.Hub.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fuzzy query latency as the corpus grows from 10k to 100k posts.
+ * Candidates come from the trigram vocabulary, whose size grows far slower than
+ * the post count, so p50 should stay roughly flat (checked: 100k within 3x of 10k).
+ * Run with: mvn test -Dbenchmarks=true -Dtest=FuzzySearchBenchmarkTests
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class FuzzySearchBenchmarkTests {
+
+    private static final int[] SIZES = {10_000, 50_000, 100_000};
+    private static final int LEXICON = 20_000;
+    private static final int QUERIES = 2_000;
+
+    @Test
+    void fuzzyLatencyStaysFlat() {
+        Random random = new Random(7);
+        String[] lexicon = new String[LEXICON];
+        for (int i = 0; i < LEXICON; i++) lexicon[i] = word(random);
+
+        InvertedIndex index = new InvertedIndex();
+        long[] p50s = new long[SIZES.length];
+        int indexed = 0;
+        for (int s = 0; s < SIZES.length; s++) {
+            for (; indexed < SIZES[s]; indexed++) {
+                Map<String, Integer> tf = new HashMap<>();
+                String text = SearchBenchmarkTests.pick(random, SearchBenchmarkTests.COLOURS) + " "
+                        + SearchBenchmarkTests.pick(random, SearchBenchmarkTests.ITEMS) + " "
+                        + zipf(random, lexicon) + " " + zipf(random, lexicon) + " near the "
+                        + SearchBenchmarkTests.pick(random, SearchBenchmarkTests.PLACES);
+                for (String t : TextAnalyzer.analyze(text)) tf.merge(t, 1, Integer::sum);
+                index.put(indexed + 1, tf);
+            }
+
+            String[] queries = new String[QUERIES];
+            for (int i = 0; i < QUERIES; i++) queries[i] = typo(random, zipf(random, lexicon));
+            for (int i = 0; i < 300; i++) index.searchFuzzy(TextAnalyzer.analyze(queries[i]), 20); // warm-up
+
+            long[] nanos = new long[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                long start = System.nanoTime();
+                index.searchFuzzy(TextAnalyzer.analyze(queries[i]), 20);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            p50s[s] = nanos[QUERIES / 2] / 1_000;
+            System.out.printf("[bench] fuzzy posts=%,d p50=%,d us p99=%,d us%n", SIZES[s], p50s[s],
+                    nanos[(int) (QUERIES * 0.99)] / 1_000);
+        }
+        assertTrue(p50s[SIZES.length - 1] <= Math.max(3 * p50s[0], 200),
+                "fuzzy p50 grew from " + p50s[0] + " us to " + p50s[SIZES.length - 1] + " us");
+    }
+
+    // skewed towards the start of the lexicon, like real word frequencies
+    private static String zipf(Random random, String[] lexicon) {
+        double r = random.nextDouble();
+        return lexicon[(int) (lexicon.length * r * r * r)];
+    }
+
+    private static String word(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = 5 + random.nextInt(5);
+        for (int i = 0; i < length; i++) sb.append((char) ('a' + random.nextInt(26)));
+        return sb.toString();
+    }
+
+    // one substitution somewhere after the first letter
+    private static String typo(Random random, String word) {
+        char[] chars = word.toCharArray();
+        chars[1 + random.nextInt(chars.length - 1)] = (char) ('a' + random.nextInt(26));
+        return new String(chars);
+    }
+}
@@ -0,0 +1,69 @@
+package com.charishma.Track.Hub.search;
+
+import com.charishma.Track.Hub.model.Post;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexSnapshotTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsDocumentsAndStamp() throws IOException {
+        LocalDateTime stamp = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000);
+        List<PostDocument> docs = new ArrayList<>();
+        docs.add(new PostDocument(1L, "Blue umbrella", "Left near the canteen", "Canteen", "Accessories",
+                Post.Status.LOST, false, stamp.minusDays(2)));
+        docs.add(new PostDocument(7L, "Café ID card — Ravi", null, "Block A", null, Post.Status.FOUND, true, null));
+        docs.add(new PostDocument(9L, null, "x".repeat(200_000), "", "Books", null, null, stamp));
+
+        Path file = dir.resolve("index.snap");
+        IndexSnapshot.write(file, stamp, 9L, docs);
+        IndexSnapshot read = IndexSnapshot.read(file);
+
+        assertEquals(stamp, read.getLastUpdatedAt());
+        assertEquals(9L, read.getMaxId());
+        assertEquals(3, read.getDocuments().size());
+        for (int i = 0; i < docs.size(); i++) {
+            PostDocument expected = docs.get(i), actual = read.getDocuments().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getLocation(), actual.getLocation());
+            assertEquals(expected.getCategory(), actual.getCategory());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.isClaimed(), actual.isClaimed());
+            assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        }
+        assertFalse(Files.exists(dir.resolve("index.snap.tmp")));
+    }
+
+    @Test
+    void rejectsDamagedFiles() throws IOException {
+        Path file = dir.resolve("index.snap");
+        IndexSnapshot.write(file, LocalDateTime.now(), 1L,
+                List.of(new PostDocument(1L, "Calculator", "fx-991", "Library", "Electronics",
+                        Post.Status.FOUND, false, LocalDateTime.now())));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Path flipped = Files.write(dir.resolve("flipped.snap"), bytes);
+        assertThrows(IOException.class, () -> IndexSnapshot.read(flipped));
+
+        Path truncated = Files.write(dir.resolve("truncated.snap"), Arrays.copyOf(bytes, bytes.length - 20));
+        assertThrows(IOException.class, () -> IndexSnapshot.read(truncated));
+
+        assertThrows(IOException.class, () -> IndexSnapshot.read(dir.resolve("missing.snap")));
+    }
+}
@@ -0,0 +1,86 @@
+package com.charishma.Track.Hub.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTests {
+
+    @Test
+    void analyzerLowercasesDropsStopWordsAndStems() {
+        assertEquals(List.of("lost", "earpod", "near", "library"),
+                TextAnalyzer.analyze("Lost my EarPods near the Library"));
+        assertEquals(TextAnalyzer.analyze("charging keys"), TextAnalyzer.analyze("charged key"));
+        assertEquals(List.of("id", "card", "2024"), TextAnalyzer.analyze("ID-card (2024)"));
+    }
+
+    @Test
+    void ranksByBm25() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, terms("blue water bottle"));
+        index.put(2, terms("bottle bottle bottle"));
+        index.put(3, terms("black umbrella"));
+        index.put(4, terms("blue umbrella"));
+
+        assertEquals(List.of(2L, 1L), ids(index.search(TextAnalyzer.analyze("bottle"), 10)));
+        // matching both terms beats matching one
+        assertEquals(4L, ids(index.search(TextAnalyzer.analyze("blue umbrella"), 10)).get(0));
+        assertEquals(1, index.search(TextAnalyzer.analyze("umbrella"), 1).size());
+        assertTrue(index.search(TextAnalyzer.analyze("laptop"), 10).isEmpty());
+    }
+
+    @Test
+    void updatesAndRemovesIncrementally() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, terms("red wallet"));
+        index.put(2, terms("brown wallet"));
+
+        index.put(1, terms("red purse"));
+        assertEquals(List.of(2L), ids(index.search(List.of("wallet"), 10)));
+        assertEquals(List.of(1L), ids(index.search(List.of("purs"), 10)));
+
+        index.remove(2);
+        assertTrue(index.search(List.of("wallet"), 10).isEmpty());
+        assertFalse(index.putIfAbsent(1, terms("anything")));
+        index.put(3, terms("green wallet")); // reuses the freed slot
+        assertEquals(List.of(3L), ids(index.search(List.of("wallet"), 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void fuzzyMatchesTyposAndSplitOrJoinedWords() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, terms("White earpods in a case"));
+        index.put(2, terms("Ear pods, black"));
+        index.put(3, terms("Airpods pro"));
+        index.put(4, terms("Blue umbrella"));
+
+        assertEquals(List.of(3L), ids(index.search(TextAnalyzer.analyze("airpod"), 10)));
+        assertEquals(List.of(1L, 3L), sorted(index.searchFuzzy(TextAnalyzer.analyze("airpod"), 10)));
+        // "airpods" is two edits from "earpods": found, but ranked after exact and split matches
+        List<Long> earpods = ids(index.searchFuzzy(TextAnalyzer.analyze("earpods"), 10));
+        assertEquals(List.of(1L, 2L, 3L), earpods.stream().sorted().collect(Collectors.toList()));
+        assertEquals(3L, earpods.get(2));
+        assertEquals(List.of(1L, 2L), sorted(index.searchFuzzy(TextAnalyzer.analyze("ear pods"), 10)));
+        assertEquals(List.of(4L), ids(index.searchFuzzy(TextAnalyzer.analyze("umbrela"), 10)));
+    }
+
+    static Map<String, Integer> terms(String text) {
+        Map<String, Integer> tf = new HashMap<>();
+        for (String t : TextAnalyzer.analyze(text)) tf.merge(t, 1, Integer::sum);
+        return tf;
+    }
+
+    private static List<Long> sorted(List<InvertedIndex.Hit> hits) {
+        return ids(hits).stream().sorted().collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,64 @@
+package com.charishma.Track.Hub.search;
+
+import com.charishma.Track.Hub.model.Post;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchIndexTests {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 10, 9, 0);
+    private static final Duration WINDOW = Duration.ofDays(30);
+
+    @Test
+    void ranksOppositeStatusByCategoryLocationAndText() {
+        MatchIndex index = new MatchIndex();
+        index.put(doc(1, Post.Status.FOUND, "Black wallet", "Leather wallet with ID card", "accessories", "Library", DAY));
+        index.put(doc(2, Post.Status.FOUND, "Wallet", "Brown wallet", "accessories", "Canteen", DAY));
+        index.put(doc(3, Post.Status.FOUND, "Calculator", "Casio fx", "electronics", "Library", DAY));
+        index.put(doc(4, Post.Status.LOST, "Black wallet", "Leather wallet", "accessories", "Library", DAY));
+
+        PostDocument lost = doc(5, Post.Status.LOST, "Lost black wallet", "Leather wallet, has my ID card",
+                "Accessories", "Library 1st floor", DAY.plusDays(1));
+        List<MatchIndex.Match> matches = index.match(lost, WINDOW, 5, 0.35f);
+
+        // the other LOST wallet (4) is never a candidate; the calculator shares only the location
+        assertEquals(List.of(1L, 2L), ids(matches));
+        assertTrue(matches.get(0).getScore() > matches.get(1).getScore());
+        assertTrue(matches.get(0).getScore() <= 1f);
+        assertEquals(1, index.match(lost, WINDOW, 1, 0.35f).size());
+    }
+
+    @Test
+    void appliesTimeWindowAndSkipsClaimedPosts() {
+        MatchIndex index = new MatchIndex();
+        index.put(doc(1, Post.Status.FOUND, "Umbrella", "Blue umbrella", "accessories", "Block A", DAY.minusDays(60)));
+        index.put(doc(2, Post.Status.FOUND, "Umbrella", "Blue umbrella", "accessories", "Block A", DAY.minusDays(3)));
+
+        PostDocument lost = doc(3, Post.Status.LOST, "Blue umbrella", "", "accessories", "Block A", DAY);
+        assertEquals(List.of(2L), ids(index.match(lost, WINDOW, 5, 0.35f)));
+
+        // once claimed, a post leaves the index and is no longer offered
+        index.put(new PostDocument(2L, "Umbrella", "Blue umbrella", "Block A", "accessories",
+                Post.Status.FOUND, true, DAY.minusDays(3)));
+        assertTrue(index.match(lost, WINDOW, 5, 0.35f).isEmpty());
+        assertEquals(1, index.size());
+
+        index.remove(1);
+        assertEquals(0, index.size());
+    }
+
+    private static List<Long> ids(List<MatchIndex.Match> matches) {
+        return matches.stream().map(MatchIndex.Match::getId).collect(Collectors.toList());
+    }
+
+    private static PostDocument doc(long id, Post.Status status, String title, String description,
+                                    String category, String location, LocalDateTime createdAt) {
+        return new PostDocument(id, title, description, location, category, status, false, createdAt);
+    }
+}
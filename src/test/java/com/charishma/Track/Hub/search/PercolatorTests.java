@@ -0,0 +1,57 @@
+package com.charishma.Track.Hub.search;
+
+import com.charishma.Track.Hub.model.Post;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PercolatorTests {
+
+    private static final long OWNER = 1;
+    private static final long OTHER = 2;
+
+    @Test
+    void matchesEveryCriterionOfSavedSearches() {
+        Percolator percolator = new Percolator();
+        percolator.put(new SavedQuery(10L, OTHER, "black wallet", null, null));
+        percolator.put(new SavedQuery(11L, OTHER, "wallet", "Accessories", Post.Status.FOUND));
+        percolator.put(new SavedQuery(12L, OTHER, "wallet", null, Post.Status.LOST));
+        percolator.put(new SavedQuery(13L, OTHER, null, "accessories", null));
+        percolator.put(new SavedQuery(14L, OTHER, "calculator", null, null));
+
+        PostDocument found = doc(Post.Status.FOUND, "Black wallets", "Found near the library", "Accessories");
+        assertEquals(List.of(10L, 11L, 13L), sorted(percolator.percolate(found, OWNER)));
+
+        PostDocument lost = doc(Post.Status.LOST, "Wallet", "Brown", "Documents");
+        assertEquals(List.of(12L), sorted(percolator.percolate(lost, OWNER)));
+    }
+
+    @Test
+    void skipsOwnSearchesAndFollowsRemovals() {
+        Percolator percolator = new Percolator();
+        percolator.put(new SavedQuery(10L, OWNER, "umbrella", null, null));
+        percolator.put(new SavedQuery(11L, OTHER, "umbrella", null, null));
+        percolator.put(new SavedQuery(12L, OTHER, null, null, Post.Status.FOUND));
+        // stop words only: nothing to match on, not filed
+        assertFalse(percolator.put(new SavedQuery(13L, OTHER, "the", null, null)));
+
+        PostDocument umbrella = doc(Post.Status.FOUND, "Blue umbrella", null, "Accessories");
+        assertEquals(List.of(11L, 12L), sorted(percolator.percolate(umbrella, OWNER)));
+
+        percolator.remove(11);
+        percolator.put(new SavedQuery(12L, OTHER, null, null, Post.Status.LOST));
+        assertTrue(percolator.percolate(umbrella, OWNER).isEmpty());
+        assertEquals(2, percolator.size());
+    }
+
+    private static List<Long> sorted(List<Long> ids) {
+        return ids.stream().sorted().toList();
+    }
+
+    private static PostDocument doc(Post.Status status, String title, String description, String category) {
+        return new PostDocument(99L, title, description, "Library", category, status, false, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,71 @@
+package com.charishma.Track.Hub.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * BM25 query latency over a synthetic 100k-post corpus (target: p99 under 10 ms).
+ * Run with: mvn test -Dbenchmarks=true -Dtest=SearchBenchmarkTests
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SearchBenchmarkTests {
+
+    private static final int POSTS = 100_000;
+    private static final int QUERIES = 2_000;
+
+    static final String[] ITEMS = {"bottle", "wallet", "umbrella", "earpods", "charger", "laptop", "calculator",
+            "id card", "keys", "watch", "spectacles", "hoodie", "backpack", "notebook", "phone", "pendrive"};
+    static final String[] COLOURS = {"blue", "black", "red", "green", "grey", "white", "brown", "silver"};
+    static final String[] PLACES = {"library", "canteen", "main gate", "block a", "block b", "seminar hall",
+            "parking", "hostel", "ground", "lab 3", "bus stop", "auditorium"};
+    static final String[] CATEGORIES = {"Electronics", "Accessories", "Clothing", "Documents", "Books", "Other"};
+
+    @Test
+    void queryLatencyAt100k() {
+        Random random = new Random(42);
+        InvertedIndex index = new InvertedIndex();
+        long buildStart = System.nanoTime();
+        for (int i = 0; i < POSTS; i++) {
+            String item = pick(random, ITEMS);
+            String title = pick(random, COLOURS) + " " + item;
+            String description = "Found a " + pick(random, COLOURS) + " " + item + " near the "
+                    + pick(random, PLACES) + " around " + (1 + random.nextInt(12)) + " pm, ask at the office";
+            Map<String, Integer> tf = new HashMap<>();
+            for (String t : TextAnalyzer.analyze(title)) tf.merge(t, 3, Integer::sum);
+            for (String t : TextAnalyzer.analyze(pick(random, CATEGORIES))) tf.merge(t, 2, Integer::sum);
+            for (String t : TextAnalyzer.analyze(pick(random, PLACES))) tf.merge(t, 1, Integer::sum);
+            for (String t : TextAnalyzer.analyze(description)) tf.merge(t, 1, Integer::sum);
+            index.put(i + 1, tf);
+        }
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = pick(random, COLOURS) + " " + pick(random, ITEMS) + " " + pick(random, PLACES);
+        }
+        for (int i = 0; i < 500; i++) index.search(TextAnalyzer.analyze(queries[i]), 20); // warm-up
+
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            index.search(TextAnalyzer.analyze(queries[i]), 20);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        long p50 = nanos[QUERIES / 2] / 1_000;
+        long p99 = nanos[(int) (QUERIES * 0.99)] / 1_000;
+        System.out.printf("[bench] bm25 posts=%,d build=%,d ms p50=%,d us p99=%,d us%n", POSTS, buildMs, p50, p99);
+        assertTrue(p99 < 10_000, "p99 " + p99 + " us exceeds 10 ms");
+    }
+
+    static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
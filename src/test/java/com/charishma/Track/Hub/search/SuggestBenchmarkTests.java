@@ -0,0 +1,61 @@
+package com.charishma.Track.Hub.search;
+
+import com.charishma.Track.Hub.model.Post;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autocomplete latency over 100k posts: every keystroke prefix of a typed title is looked up.
+ * Target: p99 under 50 us (a walk down the prefix plus a copy of at most TOP_K entries).
+ * Run with: mvn test -Dbenchmarks=true -Dtest=SuggestBenchmarkTests
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SuggestBenchmarkTests {
+
+    private static final int POSTS = 100_000;
+    private static final int QUERIES = 20_000;
+
+    @Test
+    void suggestAnswersInMicroseconds() {
+        Random random = new Random(11);
+        SuggestIndex index = new SuggestIndex();
+        LocalDateTime now = LocalDateTime.now();
+        long buildStart = System.nanoTime();
+        for (int i = 1; i <= POSTS; i++) {
+            String title = SearchBenchmarkTests.pick(random, SearchBenchmarkTests.COLOURS) + " "
+                    + SearchBenchmarkTests.pick(random, SearchBenchmarkTests.ITEMS) + " " + (i % 500);
+            index.put(new PostDocument((long) i, title, null,
+                    SearchBenchmarkTests.pick(random, SearchBenchmarkTests.PLACES),
+                    SearchBenchmarkTests.pick(random, SearchBenchmarkTests.CATEGORIES),
+                    Post.Status.LOST, false, now));
+        }
+        System.out.printf("[bench] suggest build posts=%,d phrases=%,d in %,d ms%n", POSTS, index.size(),
+                (System.nanoTime() - buildStart) / 1_000_000);
+
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String typed = SearchBenchmarkTests.pick(random, SearchBenchmarkTests.COLOURS) + " "
+                    + SearchBenchmarkTests.pick(random, SearchBenchmarkTests.ITEMS);
+            queries[i] = typed.substring(0, 1 + random.nextInt(typed.length()));
+        }
+        for (int i = 0; i < 5_000; i++) index.suggest(queries[i], 10); // warm-up
+
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            index.suggest(queries[i], 10);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        long p50 = nanos[QUERIES / 2] / 1_000;
+        long p99 = nanos[(int) (QUERIES * 0.99)] / 1_000;
+        System.out.printf("[bench] suggest posts=%,d p50=%,d us p99=%,d us%n", POSTS, p50, p99);
+        assertTrue(p99 < 50, "suggest p99 was " + p99 + " us");
+    }
+}
@@ -0,0 +1,84 @@
+package com.charishma.Track.Hub.search;
+
+import com.charishma.Track.Hub.model.Post;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestIndexTests {
+
+    @Test
+    void completesWordStartsMostUsedFirst() {
+        SuggestIndex index = new SuggestIndex();
+        index.put(doc(1, "Blue water bottle", "Accessories", "Library"));
+        index.put(doc(2, "Blue umbrella", "Accessories", "Block A"));
+        index.put(doc(3, "blue  water bottle", "Accessories", "Library"));
+
+        assertEquals(List.of("blue water bottle", "block a", "blue umbrella"), texts(index.suggest("BL", 10)));
+        assertEquals(2, index.suggest("blu", 10).get(0).getCount());
+        // any word start reaches the whole phrase
+        assertEquals(List.of("blue water bottle"), texts(index.suggest("bott", 10)));
+        assertEquals(SuggestIndex.Field.CATEGORY, index.suggest("acc", 10).get(0).getField());
+        assertEquals(List.of("library"), texts(index.suggest("lib", 1)));
+        assertTrue(index.suggest("xyz", 10).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void updatesAndRemovesIncrementally() {
+        SuggestIndex index = new SuggestIndex();
+        index.put(doc(1, "Calculator", "Electronics", "Canteen"));
+        index.put(doc(2, "Calculator", "Electronics", "Canteen"));
+        index.put(doc(3, "Casio watch", "Electronics", "Canteen"));
+
+        assertEquals(List.of("canteen", "calculator", "casio watch"), texts(index.suggest("ca", 10)));
+
+        index.put(doc(2, "Casio watch", "Electronics", "Canteen"));
+        index.remove(1);
+        assertEquals(List.of("canteen", "casio watch"), texts(index.suggest("ca", 10)));
+        assertEquals(2, index.suggest("casio", 10).get(0).getCount());
+
+        index.remove(2);
+        index.remove(3);
+        assertTrue(index.suggest("c", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void keepsOnlyTopKPerNode() {
+        SuggestIndex index = new SuggestIndex();
+        for (int i = 0; i < 30; i++) {
+            // title "key 0".."key 29", used i + 1 times
+            for (int n = 0; n <= i; n++) index.put(doc(i * 100L + n, "key " + i, null, null));
+        }
+        List<SuggestIndex.Suggestion> top = index.suggest("key", 100);
+        assertEquals(SuggestIndex.TOP_K, top.size());
+        assertEquals("key 29", top.get(0).getText());
+        assertEquals(30, top.get(0).getCount());
+
+        // removing the heaviest lets the 11th back in
+        for (int n = 0; n < 30; n++) index.remove(29 * 100L + n);
+        assertEquals(List.of("key 28"), texts(index.suggest("key", 1)));
+        assertEquals("key 19", index.suggest("key", 100).get(SuggestIndex.TOP_K - 1).getText());
+    }
+
+    @Test
+    void keysStartAtWordBoundariesAndAreCut() {
+        assertEquals(Set.of("main gate", "gate"), SuggestIndex.keys("main gate"));
+        assertEquals(SuggestIndex.MAX_KEY_LENGTH, SuggestIndex.keys("a very long title that goes on and on")
+                .iterator().next().length());
+    }
+
+    private static List<String> texts(List<SuggestIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestIndex.Suggestion::getText).collect(Collectors.toList());
+    }
+
+    private static PostDocument doc(long id, String title, String category, String location) {
+        return new PostDocument(id, title, null, location, category, Post.Status.FOUND, false, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,34 @@
+package com.charishma.Track.Hub.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTests {
+
+    @Test
+    void editDistanceCountsSwapsAsOneAndStopsEarly() {
+        assertEquals(0, TrigramIndex.editDistance("wallet", "wallet", 2));
+        assertEquals(1, TrigramIndex.editDistance("wallet", "walet", 2));
+        assertEquals(1, TrigramIndex.editDistance("wallet", "wlalet", 2));
+        assertEquals(2, TrigramIndex.editDistance("airpod", "earpod", 2));
+        assertEquals(3, TrigramIndex.editDistance("umbrella", "calculator", 2));
+    }
+
+    @Test
+    void findsCloseTermsOnly() {
+        TrigramIndex index = new TrigramIndex();
+        for (String term : new String[]{"earpod", "airpod", "headphon", "calculator", "bottl"}) index.add(term);
+
+        Map<String, Float> similar = index.similar("airpods");
+        assertTrue(similar.containsKey("airpod"));
+        assertFalse(similar.containsKey("calculator"));
+        assertTrue(index.similar("earpd").containsKey("earpod"));
+        assertTrue(index.similar("cal").isEmpty()); // too short to fuzz
+
+        index.remove("earpod");
+        assertFalse(index.similar("earpd").containsKey("earpod"));
+    }
+}
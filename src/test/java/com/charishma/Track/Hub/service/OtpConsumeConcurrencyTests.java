@@ -0,0 +1,94 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.model.Otp;
+import com.charishma.Track.Hub.repo.OtpRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress: thousands of parallel verifications of one code, against both stores; exactly one
+ * may succeed. Runs with app.otp.store=database so OtpService goes through the conditional update.
+ */
+@SpringBootTest(properties = "app.otp.store=database")
+class OtpConsumeConcurrencyTests {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 2_000;
+
+    @Autowired
+    private OtpService otpService;
+
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private OtpRepository otpRepository;
+
+    @AfterEach
+    void cleanup() {
+        otpRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void databaseStoreLetsExactlyOneVerificationWin() throws Exception {
+        assertInstanceOf(DatabaseOtpStore.class, otpStore);
+        String code = otpService.createOtpForPhone("9000000010", "LOGIN");
+
+        assertEquals(1, race(() -> otpService.verifyOtp("9000000010", code, "LOGIN")));
+        Otp otp = otpRepository.findAll().get(0);
+        assertTrue(otp.isUsed());
+    }
+
+    @Test
+    void databaseStoreRejectsWrongAndExpiredCodes() {
+        otpStore.save("9000000011", "CONTACT", "111111", LocalDateTime.now().minusSeconds(1));
+        assertFalse(otpStore.consume("9000000011", "CONTACT", "111111"));
+        otpStore.save("9000000011", "CONTACT", "222222", LocalDateTime.now().plusMinutes(5));
+        assertFalse(otpStore.consume("9000000011", "CONTACT", "333333"));
+        assertTrue(otpStore.consume("9000000011", "CONTACT", "222222"));
+    }
+
+    @Test
+    void memoryStoreLetsExactlyOneVerificationWin() throws Exception {
+        InMemoryOtpStore store = new InMemoryOtpStore(Duration.ofMillis(100), 64);
+        try {
+            store.save("9000000012", "LOGIN", "424242", LocalDateTime.now().plusMinutes(5));
+            assertEquals(1, race(() -> store.consume("9000000012", "LOGIN", "424242")));
+        } finally {
+            store.close();
+        }
+    }
+
+    // Runs ATTEMPTS verifications from THREADS threads released together; returns how many succeeded
+    private static int race(Callable<Boolean> verify) throws Exception {
+        AtomicInteger wins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < ATTEMPTS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    if (verify.call()) wins.incrementAndGet();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        return wins.get();
+    }
+}
@@ -0,0 +1,107 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.repo.OtpRepository;
+import com.charishma.Track.Hub.support.SqlStatementCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OTP purge: deletes exactly the used and expired rows, one bounded id range per statement,
+ * leaves live codes alone and reports what it did; scheduled runs happen on the purge's own thread.
+ */
+@SpringBootTest
+class OtpPurgeServiceTests {
+
+    private static final long DAY = 86_400_000L; // scheduled runs stay out of the way
+
+    @Autowired
+    private OtpRepository otpRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        otpRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void purgesUsedAndExpiredRowsInBoundedBatches() {
+        // 2500 rows: every third one live, the rest split between used and expired
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        int live = 0;
+        for (int i = 0; i < 2_500; i++) {
+            boolean isLive = i % 3 == 0;
+            if (isLive) live++;
+            boolean used = !isLive && i % 2 == 0;
+            LocalDateTime expiresAt = isLive || used ? now.plusMinutes(5) : now.minusMinutes(1);
+            rows.add(new Object[]{"90000" + String.format("%05d", i), "123456", "LOGIN", expiresAt, used, now});
+        }
+        jdbcTemplate.batchUpdate("insert into otps (phone, otp_code, purpose, expires_at, is_used, created_at) "
+                + "values (?, ?, ?, ?, ?, ?)", rows);
+
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        OtpPurgeService purge = new OtpPurgeService(otpRepository, transactionManager, meters, 500, 0, DAY, DAY);
+
+        SqlStatementCounter.reset();
+        assertEquals(2_500 - live, purge.purge());
+        long deletes = SqlStatementCounter.statements().stream()
+                .filter(sql -> sql.toLowerCase().startsWith("delete")).count();
+        assertEquals(5, deletes, "one delete per 500-id range");
+        assertEquals(live, otpRepository.count());
+
+        // steady state: nothing left to purge
+        assertEquals(0, purge.purge());
+        assertEquals(live, otpRepository.count());
+
+        assertEquals(2_500 - live, meters.get("otp.purge.rows").counter().count());
+        assertEquals(2, meters.get("otp.purge.duration").timer().count());
+        purge.shutdown();
+    }
+
+    @Test
+    void emptyTableIsANoOp() {
+        OtpPurgeService purge = new OtpPurgeService(otpRepository, transactionManager, new SimpleMeterRegistry(), 100, 0, DAY, DAY);
+        assertEquals(0, purge.purge());
+        purge.shutdown();
+    }
+
+    @Test
+    void scheduledRunsUseTheirOwnThread() throws InterruptedException {
+        jdbcTemplate.update("insert into otps (phone, otp_code, purpose, expires_at, is_used, created_at) "
+                + "values ('9000099999', '123456', 'LOGIN', ?, true, ?)", LocalDateTime.now(), LocalDateTime.now());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        OtpPurgeService purge = new OtpPurgeService(otpRepository, transactionManager, meters, 100, 0, 0, DAY) {
+            @Override
+            public int purge() {
+                threads.add(Thread.currentThread().getName());
+                return super.purge();
+            }
+        };
+        try {
+            for (int i = 0; i < 100 && meters.get("otp.purge.duration").timer().count() == 0; i++) Thread.sleep(50);
+            assertEquals(Set.of("otp-purge"), threads);
+            assertEquals(0, otpRepository.count());
+        } finally {
+            purge.shutdown();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.charishma.Track.Hub.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cost of one OTP rate-limit check (three buckets: IP, phone, email) with 10k clients active
+ * (idle buckets are swept, so this is the working set, not the all-time total), single-threaded
+ * and from 8 threads at once (wall time divided by checks made; only meaningful with several cores).
+ * Target: under 1 us per check single-threaded; the check is memory-bound (three hash lookups).
+ * Run with: mvn test -Dbenchmarks=true -Dtest=OtpRateLimiterBenchmarkTests
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class OtpRateLimiterBenchmarkTests {
+
+    private static final int CLIENTS = 10_000;
+    private static final int CHECKS = 2_000_000;
+    private static final int THREADS = 8;
+
+    @Test
+    void checkCostsLessThanAMicrosecond() throws Exception {
+        // generous limits so the benchmark measures the check, not the rejections
+        OtpRateLimiter limiter = new OtpRateLimiter(new OtpRateLimiter.Limit(1_000_000, Duration.ofMillis(1)),
+                new OtpRateLimiter.Limit(1_000_000, Duration.ofMillis(1)), System::nanoTime);
+        String[] ips = new String[CLIENTS];
+        String[] phones = new String[CLIENTS];
+        String[] emails = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            ips[i] = "10." + (i >> 16) + "." + ((i >> 8) & 255) + "." + (i & 255);
+            phones[i] = String.valueOf(9_000_000_000L + i);
+            emails[i] = "student" + i + "@srkrec.ac.in";
+        }
+        for (int i = 0; i < CHECKS / 4; i++) limiter.acquire(ips[i % CLIENTS], phones[i % CLIENTS], emails[i % CLIENTS]); // warm-up
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CHECKS; i++) {
+            int c = (int) ((i * 7919L) % CLIENTS);
+            limiter.acquire(ips[c], phones[c], emails[c]);
+        }
+        double single = (System.nanoTime() - start) / (double) CHECKS;
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t;
+            futures.add(pool.submit(() -> {
+                go.await();
+                for (int i = 0; i < CHECKS / THREADS; i++) {
+                    int c = (int) ((i * 7919L + offset * 12_345L) % CLIENTS);
+                    limiter.acquire(ips[c], phones[c], emails[c]);
+                }
+                return null;
+            }));
+        }
+        long parallelStart = System.nanoTime();
+        go.countDown();
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        // wall time over all checks: what a check costs the machine when threads contend for stripes
+        double parallel = (System.nanoTime() - parallelStart) / (double) CHECKS;
+        pool.shutdownNow();
+
+        System.out.printf("[bench] otp rate limit clients=%,d buckets=%,d single=%.0f ns parallel(%d)=%.0f ns%n",
+                CLIENTS, limiter.size(), single, THREADS, parallel);
+        assertTrue(single < 1_000, "single-threaded check took " + single + " ns");
+    }
+}
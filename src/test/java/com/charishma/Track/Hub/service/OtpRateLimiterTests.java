@@ -0,0 +1,72 @@
+package com.charishma.Track.Hub.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OTP rate limiter on a fake clock: bursts up to capacity, refills over time, limits the
+ * client IP across recipients, takes all tokens or none, and forgets idle buckets.
+ */
+class OtpRateLimiterTests {
+
+    private final AtomicLong now = new AtomicLong();
+    // recipients: 2 then one per minute; clients: 4 then one per 10 seconds
+    private final OtpRateLimiter limiter = new OtpRateLimiter(
+            new OtpRateLimiter.Limit(2, Duration.ofMinutes(1)),
+            new OtpRateLimiter.Limit(4, Duration.ofSeconds(10)),
+            now::get);
+
+    @Test
+    void burstsThenWaitsForRefill() {
+        assertEquals(0, limiter.acquire("10.0.0.1", "9000000001", "a@srkrec.ac.in"));
+        assertEquals(0, limiter.acquire("10.0.0.1", "9000000001", "a@srkrec.ac.in"));
+        assertEquals(60, limiter.acquire("10.0.0.1", "9000000001", null));
+
+        advance(Duration.ofSeconds(45));
+        assertEquals(15, limiter.acquire("10.0.0.2", "9000000001", null));
+        advance(Duration.ofSeconds(15));
+        assertEquals(0, limiter.acquire("10.0.0.2", "9000000001", null));
+    }
+
+    @Test
+    void clientIpIsLimitedAcrossRecipients() {
+        for (int i = 0; i < 4; i++) assertEquals(0, limiter.acquire("10.0.0.3", "900000010" + i, null));
+        assertEquals(10, limiter.acquire("10.0.0.3", "9000000109", null));
+        // the turned-away request took nothing from the recipient it aimed at
+        assertEquals(0, limiter.acquire("10.0.0.4", "9000000109", null));
+        assertEquals(0, limiter.acquire("10.0.0.4", "9000000109", null));
+    }
+
+    @Test
+    void emailsMatchCaseInsensitively() {
+        assertEquals(0, limiter.acquire(null, null, "B@srkrec.ac.in"));
+        assertEquals(0, limiter.acquire(null, null, " b@SRKREC.ac.in"));
+        assertTrue(limiter.acquire(null, null, "b@srkrec.ac.in") > 0);
+    }
+
+    @Test
+    void idleBucketsAreEvicted() {
+        limiter.acquire("10.0.0.5", "9000000201", "c@srkrec.ac.in");
+        limiter.acquire("10.0.0.5", "9000000201", null);
+        assertEquals(3, limiter.size());
+
+        // full again after: client 20s (2 of 4 used), email 60s (1 of 2), phone 120s (2 of 2)
+        advance(Duration.ofSeconds(15));
+        assertEquals(0, limiter.evictIdle());
+        advance(Duration.ofSeconds(15));
+        assertEquals(1, limiter.evictIdle());
+        advance(Duration.ofSeconds(31));
+        assertEquals(1, limiter.evictIdle());
+        advance(Duration.ofMinutes(1));
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(0, limiter.size());
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
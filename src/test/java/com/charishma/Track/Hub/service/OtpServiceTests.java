@@ -0,0 +1,68 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.repo.OtpRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OTPs issued and verified through the default in-memory store: single use, latest code wins,
+ * expired codes are rejected and dropped, and nothing is written to the otps table.
+ */
+@SpringBootTest
+class OtpServiceTests {
+
+    @Autowired
+    private OtpService otpService;
+
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private OtpRepository otpRepository;
+
+    @Test
+    void codesAreSingleUseAndNeverTouchTheTable() {
+        assertInstanceOf(InMemoryOtpStore.class, otpStore);
+        String login = otpService.createOtpForPhone("9000000001", "LOGIN");
+        String register = otpService.createOtpForPhone("9000000001", "REGISTER");
+
+        assertFalse(otpService.verifyOtp("9000000001", login, "CONTACT"));
+        assertTrue(otpService.verifyOtp("9000000001", login, "login"));
+        assertFalse(otpService.verifyOtp("9000000001", login, "LOGIN"), "already used");
+        assertTrue(otpService.verifyOtp("9000000001", register, "REGISTER"));
+        assertEquals(0, otpRepository.count());
+    }
+
+    @Test
+    void latestCodeReplacesEarlierOne() {
+        otpStore.save("9000000004", "LOGIN", "111111", LocalDateTime.now().plusMinutes(5));
+        otpStore.save("9000000004", "LOGIN", "222222", LocalDateTime.now().plusMinutes(5));
+        assertFalse(otpStore.consume("9000000004", "LOGIN", "111111"));
+        assertTrue(otpStore.consume("9000000004", "LOGIN", "222222"));
+    }
+
+    @Test
+    void expiredCodesAreRejectedAndRemoved() throws InterruptedException {
+        InMemoryOtpStore store = new InMemoryOtpStore(Duration.ofMillis(10), 16);
+        try {
+            store.save("9000000002", "CONTACT", "123456", LocalDateTime.now().plusNanos(100_000_000));
+            store.save("9000000003", "CONTACT", "654321", LocalDateTime.now().plusMinutes(5));
+            assertEquals(2, store.size());
+            assertFalse(store.consume("9000000003", "CONTACT", "000000"));
+
+            for (int i = 0; i < 100 && store.size() > 1; i++) Thread.sleep(10);
+            assertEquals(1, store.size());
+            assertFalse(store.consume("9000000002", "CONTACT", "123456"));
+            assertTrue(store.consume("9000000003", "CONTACT", "654321"));
+            assertEquals(0, store.size());
+        } finally {
+            store.close();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.charishma.Track.Hub.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Content-addressed photo store: identical content shares one file, oversized and non-image
+ * uploads are rejected while streaming, delete removes exactly the original and its variants,
+ * and a key held by an unfinished transaction survives deleteIfUnreferenced.
+ */
+class PhotoStorageServiceTests {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 1, 2, 3, 4};
+
+    @TempDir
+    Path dir;
+
+    private PhotoStorageService store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new PhotoStorageService(dir.toString(), 1024);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void identicalContentSharesOneFile() throws IOException {
+        String key = store.store(PNG);
+        PhotoStorageService.StoredPhoto streamed = store.store(new ByteArrayInputStream(PNG));
+
+        assertEquals(key, streamed.getKey());
+        assertEquals("image/png", streamed.getContentType());
+        assertEquals(PNG.length, streamed.getSize());
+        assertEquals(List.of(key), files());
+        assertArrayEquals(PNG, store.open(key).readAllBytes());
+    }
+
+    @Test
+    void rejectsOversizedUploadWithoutKeepingIt() throws IOException {
+        byte[] big = Arrays.copyOf(PNG, 1025); // limit is 1024
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> store.store(new ByteArrayInputStream(big)));
+        assertTrue(ex.getMessage().contains("limit"));
+        assertEquals(List.of(), files());
+        assertEquals(1024, store.store(new ByteArrayInputStream(Arrays.copyOf(PNG, 1024))).getSize());
+    }
+
+    @Test
+    void rejectsUploadThatIsNotAnImage() throws IOException {
+        byte[] pdf = "%PDF-1.7 not a photo".getBytes(StandardCharsets.US_ASCII);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> store.store(new ByteArrayInputStream(pdf)));
+        assertTrue(ex.getMessage().startsWith("Unsupported photo format"));
+        assertEquals(List.of(), files());
+    }
+
+    @Test
+    void deleteRemovesOriginalAndVariants() throws IOException {
+        String key = store.store(PNG);
+        store.storeVariant(key, 160, new byte[]{1});
+        store.storeVariant(key, 640, new byte[]{2});
+        assertEquals(3, files().size());
+
+        // an unrelated file sharing the key as prefix (e.g. a concurrent upload's temp file) stays
+        Path temp = Files.createFile(dir.resolve(key.substring(0, 2)).resolve(key + "123.tmp"));
+
+        store.delete(key);
+
+        assertEquals(List.of(temp.getFileName().toString()), files());
+        assertFalse(store.exists(key));
+    }
+
+    @Test
+    void deleteIfUnreferencedKeepsReferencedKey() {
+        String key = store.store(PNG);
+
+        assertFalse(store.deleteIfUnreferenced(key, k -> true));
+        assertTrue(store.exists(key));
+        assertTrue(store.deleteIfUnreferenced(key, k -> false));
+        assertFalse(store.exists(key));
+    }
+
+    @Test
+    void keyStoredByUnfinishedTransactionIsNotDeleted() {
+        String key = store.store(PNG);
+
+        // a second upload of the same content, inside a transaction that has not committed yet
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(key, store.store(PNG));
+        assertFalse(store.deleteIfUnreferenced(key, k -> false));
+        assertTrue(store.exists(key));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertTrue(store.deleteIfUnreferenced(key, k -> false));
+        assertFalse(store.exists(key));
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).map(p -> p.getFileName().toString()).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.PhotoSize;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+/**
+ * Throughput of the photo variant pipeline (decode + resize + JPEG encode) on a phone-sized photo.
+ * Run with: mvn test -Dbenchmarks=true -Dtest=PhotoVariantBenchmarkTests
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class PhotoVariantBenchmarkTests {
+
+    private static final int ITERATIONS = 10;
+
+    @Test
+    void resizeThroughput() throws Exception {
+        byte[] original = syntheticJpeg(3024, 4032);
+        System.out.printf("[bench] original 3024x4032 jpeg=%,d KiB%n", original.length / 1024);
+
+        for (int i = 0; i < 3; i++) runOnce(original); // warm-up
+
+        long decodeStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) ImageIO.read(new ByteArrayInputStream(original));
+        System.out.printf("[bench] full-resolution decode alone=%.1f photos/s%n",
+                ITERATIONS / ((System.nanoTime() - decodeStart) / 1e9));
+
+        for (PhotoSize size : PhotoSize.values()) {
+            long bytes = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                BufferedImage decoded = PhotoVariantService.decode(new ByteArrayInputStream(original), size.getWidth());
+                bytes += PhotoVariantService.encodeJpeg(PhotoVariantService.resize(decoded, size.getWidth())).length;
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("[bench] variant=%-6s width=%4d throughput=%.1f photos/s avg=%,d KiB%n",
+                    size.param(), size.getWidth(), ITERATIONS / seconds, bytes / ITERATIONS / 1024);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) runOnce(original);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("[bench] full pipeline (subsampled decode once, both variants) throughput=%.1f photos/s%n",
+                ITERATIONS / seconds);
+    }
+
+    private static void runOnce(byte[] original) throws Exception {
+        BufferedImage decoded = PhotoVariantService.decode(
+                new ByteArrayInputStream(original), PhotoSize.MEDIUM.getWidth());
+        for (PhotoSize size : PhotoSize.values()) {
+            PhotoVariantService.encodeJpeg(PhotoVariantService.resize(decoded, size.getWidth()));
+        }
+    }
+
+    // noisy gradient so the encoder has realistic work to do
+    private static byte[] syntheticJpeg(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        Random random = new Random(42);
+        for (int i = 0; i < width * height / 8; i++) {
+            image.setRGB(random.nextInt(width), random.nextInt(height), random.nextInt());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,111 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.PostDetailResponse;
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import com.charishma.Track.Hub.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Post detail latency: the previous four-round-trip lookup (post, lazy owner, two COUNTs)
+ * vs. the single joined query reading the owner's stored counters. H2 runs in-process, so real-network gains are larger.
+ * Run with: mvn test -Dbenchmarks=true -Dtest=PostDetailBenchmarkTests
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class PostDetailBenchmarkTests {
+
+    private static final int OWNER_POSTS = 2_000;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanup() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void detailLookup() {
+        User owner = new User();
+        owner.setFirstName("Bench");
+        owner.setEmail("bench@srkrec.ac.in");
+        owner.setPasswordHash("x");
+        owner = userRepository.save(owner);
+
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < OWNER_POSTS; i++) {
+            Post p = new Post();
+            p.setUser(owner);
+            p.setTitle("Item " + i);
+            p.setDescription("Grey hoodie left in the seminar hall");
+            p.setLocation("Seminar hall");
+            p.setCategory("Clothing");
+            p.setIsClaimed(i % 4 == 0);
+            posts.add(p);
+        }
+        Long id = postRepository.saveAll(posts).get(0).getId();
+        userStatsService.reconcile(); // seeded through the repository, so fill in the counters
+
+        PostDetailResponse dto = postService.getPostDetail(id);
+        assertEquals(OWNER_POSTS, dto.getUser().getItemsPosted());
+        assertEquals(OWNER_POSTS / 4, dto.getUser().getItemsReturned());
+
+        run("before (4 queries)", () -> legacyDetail(id));
+        run("after  (1 query) ", () -> postService.getPostDetail(id));
+    }
+
+    // The previous implementation: findById, lazy owner load, then two COUNT queries
+    private void legacyDetail(Long id) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Post post = postRepository.findById(id).orElseThrow();
+            User u = post.getUser();
+            u.getFirstName();
+            postRepository.countByUserId(u.getId());
+            postRepository.countByUserIdAndIsClaimedTrue(u.getId());
+        });
+    }
+
+    private void run(String label, Runnable lookup) {
+        for (int i = 0; i < 200; i++) lookup.run(); // warm-up
+
+        long[] nanos = new long[ITERATIONS];
+        SqlStatementCounter.reset();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            lookup.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        int statements = SqlStatementCounter.count() / ITERATIONS;
+        Arrays.sort(nanos);
+        System.out.printf("[bench] detail %s statements=%d p50=%,d us p99=%,d us%n", label, statements,
+                nanos[ITERATIONS / 2] / 1_000, nanos[(int) (ITERATIONS * 0.99)] / 1_000);
+    }
+}
@@ -0,0 +1,167 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.ClaimRequest;
+import com.charishma.Track.Hub.dto.PostRequest;
+import com.charishma.Track.Hub.dto.PostResponse;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.ClaimRepository;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import com.charishma.Track.Hub.support.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Post detail cache: repeat reads skip the DB, concurrent misses load once,
+ * and writes that change what the detail page shows evict it.
+ */
+@SpringBootTest
+class PostDetailCacheTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    private User owner;
+    private PostResponse post;
+
+    @BeforeEach
+    void seed() {
+        User u = new User();
+        u.setFirstName("Cache");
+        u.setEmail("cache@srkrec.ac.in");
+        u.setPasswordHash("x");
+        owner = userRepository.save(u);
+        post = postService.createPost(request("Water bottle"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        claimRepository.deleteAllInBatch();
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        postDetailCache.invalidateAll();
+    }
+
+    @Test
+    void repeatReadsAreServedFromCache() {
+        postService.getCachedPostDetail(post.getId()).orElseThrow();
+
+        SqlStatementCounter.reset();
+        postService.getCachedPostDetail(post.getId()).orElseThrow();
+        assertEquals(0, SqlStatementCounter.count());
+        assertTrue(postService.getCachedPostDetail(-1L).isEmpty());
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return postDetailCache.get(9_999L, id -> {
+                        loads.incrementAndGet();
+                        sleep(100);
+                        return new PostDetailCache.Entry(null, null, null);
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get(5, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void writesInvalidateDetail() {
+        Long id = post.getId();
+        assertEquals("Water bottle", detailTitle(id));
+
+        PostRequest rename = new PostRequest();
+        rename.setTitle("Steel bottle");
+        postService.updatePost(id, rename);
+        assertEquals("Steel bottle", detailTitle(id));
+
+        // a new post by the same owner changes the owner's counters on this page
+        assertEquals(1L, postService.getCachedPostDetail(id).orElseThrow().getDetail().getUser().getItemsPosted());
+        Long second = postService.createPost(request("Lunch box")).getId();
+        assertEquals(2L, postService.getCachedPostDetail(id).orElseThrow().getDetail().getUser().getItemsPosted());
+
+        String etag = postService.getCachedPostDetail(id).orElseThrow().getVersion().getEtag();
+        ClaimRequest claim = new ClaimRequest();
+        claim.setClaimerName("Ravi");
+        claim.setClaimerEmail("ravi@srkrec.ac.in");
+        postService.createClaim(id, claim);
+        SqlStatementCounter.reset();
+        assertEquals(etag, postService.getCachedPostDetail(id).orElseThrow().getVersion().getEtag());
+        assertEquals(1, SqlStatementCounter.count(), "claim should have evicted the entry");
+
+        assertEquals("Lunch box", detailTitle(second));
+        postService.deletePost(second);
+        assertTrue(postService.getCachedPostDetail(second).isEmpty());
+    }
+
+    @Test
+    void publishesCacheMetrics() {
+        postService.getCachedPostDetail(post.getId());
+        postService.getCachedPostDetail(post.getId());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", PostDetailCache.NAME).tag("result", "hit").functionCounter());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", PostDetailCache.NAME).tag("result", "miss").functionCounter());
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", PostDetailCache.NAME).functionCounter());
+        assertTrue(postDetailCache.stats().hitCount() >= 1);
+    }
+
+    private String detailTitle(Long id) {
+        return postService.getCachedPostDetail(id).orElseThrow().getDetail().getTitle();
+    }
+
+    private PostRequest request(String title) {
+        PostRequest req = new PostRequest();
+        req.setUserId(owner.getId());
+        req.setTitle(title);
+        req.setDescription("Left on the bus");
+        req.setLocation("Bus stop");
+        req.setCategory("Accessories");
+        return req;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.PostRequest;
+import com.charishma.Track.Hub.dto.PostResponse;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * New dictionary values are inserted while the post's transaction holds a main-pool connection;
+ * with a main pool of one connection that insert must still go through (its own pool).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=5000",
+        // Flyway wants two connections at once; give it its own
+        "spring.flyway.url=${spring.datasource.url}",
+        "spring.flyway.user=sa"
+})
+class PostDictionaryPoolTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanup() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void newValuesDoNotNeedASecondMainPoolConnection() {
+        User u = new User();
+        u.setFirstName("Pool");
+        u.setEmail("pool@srkrec.ac.in");
+        u.setPasswordHash("x");
+        User owner = userRepository.save(u);
+
+        PostRequest req = new PostRequest();
+        req.setUserId(owner.getId());
+        req.setTitle("Telescope");
+        req.setDescription("Small refractor");
+        req.setCategory("Optical Instruments");
+        req.setLocation("Observatory Deck");
+        req.setStatus("FOUND");
+        req.setContactPublic("EMAIL");
+        PostResponse created = postService.createPost(req);
+
+        req.setLocation("Observatory Roof");
+        assertEquals("Observatory Roof", postService.updatePost(created.getId(), req).getLocation());
+    }
+}
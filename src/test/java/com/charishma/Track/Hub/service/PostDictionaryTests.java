@@ -0,0 +1,101 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Categories and locations are stored once in their dictionaries: posts reference them by id,
+ * read back the first stored spelling, and filter on the id.
+ */
+@SpringBootTest
+class PostDictionaryTests {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostDictionary postDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @BeforeEach
+    void seed() {
+        User u = new User();
+        u.setFirstName("Dictionary");
+        u.setEmail("dictionary@srkrec.ac.in");
+        u.setPasswordHash("x");
+        owner = userRepository.save(u);
+    }
+
+    @AfterEach
+    void cleanup() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void spellingsShareOneEntry() {
+        Post first = save("Musical Instruments", "Auditorium  Stage");
+        Post second = save("  musical instruments ", "AUDITORIUM stage");
+
+        Post reloaded = postRepository.findById(second.getId()).orElseThrow();
+        assertEquals("Musical Instruments", reloaded.getCategory());
+        assertEquals("Auditorium Stage", reloaded.getLocation());
+        // interned: one String instance per entry
+        assertSame(postRepository.findById(first.getId()).orElseThrow().getCategory(), reloaded.getCategory());
+
+        assertEquals(1, count("categories", "musical instruments"));
+        assertEquals(1, count("locations", "auditorium stage"));
+        Integer categoryId = jdbcTemplate.queryForObject(
+                "select category_id from posts where id = ?", Integer.class, first.getId());
+        assertEquals(postDictionary.idOf(PostDictionary.Kind.CATEGORY, "MUSICAL INSTRUMENTS"), categoryId);
+    }
+
+    @Test
+    void filtersCompareIdsAndNeverInsert() {
+        save("Sports Gear", "Football Ground");
+        save("Sports Gear", "Indoor Stadium");
+        save("Stationery", "Football Ground");
+
+        assertEquals(2, postRepository.findByCategory("sports gear").size());
+        assertTrue(postRepository.findByCategory("Spaceships").isEmpty());
+        assertEquals(0, count("categories", "spaceships"));
+
+        List<String> grounds = postDictionary.namesContaining(PostDictionary.Kind.LOCATION, "GROUND");
+        assertTrue(grounds.contains("Football Ground"));
+        assertEquals(2, postRepository.findByLocationIn(grounds).stream()
+                .filter(p -> p.getUser().getId().equals(owner.getId())).count());
+    }
+
+    private Post save(String category, String location) {
+        Post p = new Post();
+        p.setUser(owner);
+        p.setTitle("Item");
+        p.setDescription("Left behind");
+        p.setCategory(category);
+        p.setLocation(location);
+        return postRepository.save(p);
+    }
+
+    private int count(String table, String key) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where name_key = ?", Integer.class, key);
+    }
+}
@@ -0,0 +1,96 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.PostResponse;
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Heap and latency of the /api/posts/all list query: full entities vs. the scalar projection.
+ * Run with: mvn test -Dbenchmarks=true -Dtest=PostListBenchmarkTests
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class PostListBenchmarkTests {
+
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanup() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void listAllPosts() {
+        User user = new User();
+        user.setFirstName("Bench");
+        user.setEmail("bench@srkrec.ac.in");
+        user.setPasswordHash("x");
+        user = userRepository.save(user);
+
+        int seeded = 0;
+        for (int target : new int[] {1_000, 10_000}) {
+            seeded += seed(user, target - seeded);
+            measure(target, "entities", () -> postRepository.findAllByOrderByCreatedAtDesc()
+                    .stream().map(PostResponse::new).toList());
+            measure(target, "projection", postRepository::findAllResponsesOrderByCreatedAtDesc);
+        }
+    }
+
+    private int seed(User user, int count) {
+        List<Post> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Post p = new Post();
+            p.setUser(user);
+            p.setTitle("Item " + i);
+            p.setDescription("Black backpack with a water bottle and notebooks, found near block " + i);
+            p.setLocation("Library");
+            p.setCategory("Bags");
+            p.setPhotoKey(String.format("%064x", i));
+            p.setPhotoContentType("image/jpeg");
+            batch.add(p);
+            if (batch.size() == 500) {
+                postRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        postRepository.saveAll(batch);
+        return count;
+    }
+
+    private void measure(int posts, String mode, Supplier<List<PostResponse>> query) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        query.get(); // warm-up
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (query.get().size() != posts) throw new IllegalStateException("unexpected row count");
+        }
+        long avgMicros = (System.nanoTime() - start) / ITERATIONS / 1_000;
+        long avgKb = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / ITERATIONS / 1024;
+
+        System.out.printf("[bench] /api/posts/all posts=%,d mode=%-10s latency=%,d us allocated=%,d KiB%n",
+                posts, mode, avgMicros, avgKb);
+    }
+}
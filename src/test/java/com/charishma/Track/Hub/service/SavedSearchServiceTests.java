@@ -0,0 +1,127 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.PostRequest;
+import com.charishma.Track.Hub.dto.SavedSearchRequest;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.SavedSearchRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Saved searches: new posts are percolated after commit and matching users are emailed once.
+ */
+@SpringBootTest
+class SavedSearchServiceTests {
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User poster;
+    private User seeker;
+
+    @BeforeEach
+    void seed() {
+        poster = user("Poster", "poster@srkrec.ac.in");
+        seeker = user("Seeker", "seeker@srkrec.ac.in");
+    }
+
+    @AfterEach
+    void cleanup() {
+        savedSearchRepository.deleteAllInBatch();
+        postRepository.findAll().forEach(p -> postService.deletePost(p.getId()));
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void emailsEachMatchingUserOncePerPost() {
+        savedSearchService.create(search(seeker, "black wallet", null, "FOUND"));
+        savedSearchService.create(search(seeker, null, "Accessories", null));
+        savedSearchService.create(search(poster, "wallet", null, null)); // own post: no alert
+
+        createPost("Black wallet", "FOUND", "Accessories");
+        createPost("Calculator", "FOUND", "Electronics");
+
+        ArgumentCaptor<SimpleMailMessage> mail = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(emailService, times(1)).send(mail.capture());
+        assertArrayEquals(new String[]{"seeker@srkrec.ac.in"}, mail.getValue().getTo());
+        assertTrue(mail.getValue().getText().contains("Black wallet"));
+        assertTrue(mail.getValue().getText().contains("(and 1 more)"));
+    }
+
+    @Test
+    void deletedSearchesStopAlertsAndOwnershipIsChecked() {
+        Long id = savedSearchService.create(search(seeker, "umbrella", null, null)).getId();
+        assertEquals(1, savedSearchService.list(seeker.getId()).size());
+
+        assertFalse(savedSearchService.delete(id, poster.getId()));
+        assertTrue(savedSearchService.delete(id, seeker.getId()));
+        createPost("Blue umbrella", "FOUND", "Accessories");
+
+        verify(emailService, never()).send(any());
+        assertTrue(savedSearchService.list(seeker.getId()).isEmpty());
+    }
+
+    @Test
+    void rejectsEmptyOrInvalidCriteria() {
+        assertThrows(IllegalArgumentException.class, () -> savedSearchService.create(search(seeker, " ", null, null)));
+        assertThrows(IllegalArgumentException.class, () -> savedSearchService.create(search(seeker, "the", null, null)));
+        assertThrows(IllegalArgumentException.class, () -> savedSearchService.create(search(seeker, "keys", null, "MISSING")));
+        assertEquals(List.of(), savedSearchService.list(seeker.getId()));
+    }
+
+    private void createPost(String title, String status, String category) {
+        PostRequest req = new PostRequest();
+        req.setUserId(poster.getId());
+        req.setTitle(title);
+        req.setDescription(title + " found on campus");
+        req.setStatus(status);
+        req.setCategory(category);
+        req.setLocation("Library");
+        postService.createPost(req);
+    }
+
+    private static SavedSearchRequest search(User user, String query, String category, String status) {
+        SavedSearchRequest req = new SavedSearchRequest();
+        req.setUserId(user.getId());
+        req.setQuery(query);
+        req.setCategory(category);
+        req.setStatus(status);
+        return req;
+    }
+
+    private User user(String name, String email) {
+        User u = new User();
+        u.setFirstName(name);
+        u.setEmail(email);
+        u.setPasswordHash("x");
+        return userRepository.save(u);
+    }
+}
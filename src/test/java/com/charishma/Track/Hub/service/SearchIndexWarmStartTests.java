@@ -0,0 +1,126 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.PostResponse;
+import com.charishma.Track.Hub.model.Post;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A restarted PostSearchService loads its snapshot and replays only the posts written since:
+ * changed, created and deleted posts are caught up, untouched ones come from the file.
+ */
+@SpringBootTest
+class SearchIndexWarmStartTests {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path dir;
+
+    private User owner;
+
+    @BeforeEach
+    void seed() {
+        User u = new User();
+        u.setFirstName("Snapshot");
+        u.setEmail("snapshot@srkrec.ac.in");
+        u.setPasswordHash("x");
+        owner = userRepository.save(u);
+    }
+
+    @AfterEach
+    void cleanup() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void restartReplaysOnlyChangesSinceSnapshot() {
+        Post kept = save("Periwinkle umbrella");
+        Post edited = save("Tangerine notebook");
+        Post deleted = save("Magenta scarf");
+        // last written well before the snapshot stamp (the newest write), so outside the replay overlap
+        jdbcTemplate.update("update posts set updated_at = ? where id = ?", LocalDateTime.now().minusHours(1), kept.getId());
+
+        Path file = dir.resolve("search-index.snap");
+        PostSearchService first = new PostSearchService(postRepository, resultCache(), file.toString());
+        first.buildIndex();
+        assertEquals("full", first.getStartup());
+        first.writeSnapshot();
+        assertTrue(Files.exists(file));
+
+        edited.setTitle("Turquoise notebook");
+        postRepository.save(edited);
+        postRepository.delete(deleted);
+        Post created = save("Vermilion bottle");
+        // untouched row changed behind the index's back: a warm start must not re-read it
+        jdbcTemplate.update("update posts set title = 'Ochre umbrella' where id = ?", kept.getId());
+
+        PostSearchService restarted = new PostSearchService(postRepository, resultCache(), file.toString());
+        restarted.buildIndex();
+        assertEquals("snapshot", restarted.getStartup());
+        assertTrue(restarted.isReady());
+
+        assertEquals(List.of(kept.getId()), ids(restarted.search("periwinkle", 10)));
+        assertTrue(restarted.search("ochre", 10).isEmpty());
+        assertEquals(List.of(edited.getId()), ids(restarted.search("turquoise", 10)));
+        assertTrue(restarted.search("tangerine", 10).isEmpty());
+        assertTrue(restarted.search("magenta", 10).isEmpty());
+        assertEquals(List.of(created.getId()), ids(restarted.search("vermilion", 10)));
+        assertEquals(3, restarted.size());
+    }
+
+    @Test
+    void damagedSnapshotFallsBackToFullBuild() throws Exception {
+        Post post = save("Saffron lanyard");
+        Path file = Files.writeString(dir.resolve("search-index.snap"), "not a snapshot");
+
+        PostSearchService service = new PostSearchService(postRepository, resultCache(), file.toString());
+        service.buildIndex();
+        assertEquals("full", service.getStartup());
+        assertEquals(List.of(post.getId()), ids(service.search("saffron", 10)));
+    }
+
+    private Post save(String title) {
+        Post p = new Post();
+        p.setUser(owner);
+        p.setTitle(title);
+        p.setDescription("Left in the seminar hall");
+        p.setLocation("Seminar hall");
+        p.setCategory("Misc");
+        p.setStatus(Post.Status.LOST);
+        return postRepository.save(p);
+    }
+
+    private static SearchResultCache resultCache() {
+        return new SearchResultCache(100, 60, new SimpleMeterRegistry());
+    }
+
+    private static List<Long> ids(List<PostResponse> results) {
+        return results.stream().map(PostResponse::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,122 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.PostRequest;
+import com.charishma.Track.Hub.dto.PostResponse;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import com.charishma.Track.Hub.support.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Search result cache: repeated searches and filters skip hydration, any post write moves the
+ * cache to a new generation, and the hit ratio is published.
+ */
+@SpringBootTest
+class SearchResultCacheTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void seed() throws InterruptedException {
+        for (int i = 0; i < 50 && !postSearchService.isReady(); i++) Thread.sleep(100);
+
+        User u = new User();
+        u.setFirstName("Results");
+        u.setEmail("results@srkrec.ac.in");
+        u.setPasswordHash("x");
+        owner = userRepository.save(u);
+    }
+
+    @AfterEach
+    void cleanup() {
+        postRepository.findAll().forEach(p -> postService.deletePost(p.getId()));
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void repeatSearchesAreServedFromCache() {
+        Long id = create("Indigo raincoat").getId();
+        assertEquals(List.of(id), ids(postSearchService.search("RAINCOAT", 10)));
+
+        SqlStatementCounter.reset();
+        // same terms after analysis: one entry
+        assertEquals(List.of(id), ids(postSearchService.search("  raincoats ", 10)));
+        postSearchService.filter(null, List.of("Rainwear"), null, null, null, null, null, 10);
+        postSearchService.filter(null, List.of(" RAINWEAR "), null, null, null, null, null, 10);
+        assertEquals(1, SqlStatementCounter.count(), "only the first filter should hydrate");
+    }
+
+    @Test
+    void writesNeverServeStaleResults() {
+        PostResponse raincoat = create("Indigo raincoat");
+        assertEquals(List.of(raincoat.getId()), ids(postSearchService.search("raincoat", 10)));
+        assertEquals(1, postSearchService.filter(null, List.of("Rainwear"), null, null, null, null, null, 10).getTotal());
+
+        long generation = searchResultCache.generation();
+        PostRequest rename = new PostRequest();
+        rename.setTitle("Indigo poncho");
+        postService.updatePost(raincoat.getId(), rename);
+        assertTrue(searchResultCache.generation() > generation);
+        assertTrue(postSearchService.search("raincoat", 10).isEmpty());
+        assertEquals("Indigo poncho", postSearchService.filter(null, List.of("Rainwear"), null, null, null, null, null, 10)
+                .getItems().get(0).getTitle());
+
+        Long second = create("Indigo umbrella").getId();
+        assertEquals(2, postSearchService.filter(null, List.of("Rainwear"), null, null, null, null, null, 10).getTotal());
+        postService.deletePost(second);
+        assertTrue(postSearchService.search("umbrella", 10).isEmpty());
+    }
+
+    @Test
+    void publishesHitRatio() {
+        create("Indigo raincoat");
+        postSearchService.search("raincoat", 10);
+        postSearchService.search("raincoat", 10);
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", SearchResultCache.NAME).tag("result", "hit").functionCounter());
+        assertNotNull(meterRegistry.find("cache.hit.ratio").tag("cache", SearchResultCache.NAME).gauge());
+        assertTrue(searchResultCache.stats().hitCount() >= 1);
+    }
+
+    private PostResponse create(String title) {
+        PostRequest req = new PostRequest();
+        req.setUserId(owner.getId());
+        req.setTitle(title);
+        req.setDescription("Left near the library");
+        req.setLocation("Library");
+        req.setCategory("Rainwear");
+        return postService.createPost(req);
+    }
+
+    private static List<Long> ids(List<PostResponse> results) {
+        return results.stream().map(PostResponse::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,94 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.support.StubSmsGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SMS delivery against a local stub gateway: sends never wait on the gateway, retryable
+ * failures and timeouts are retried, rejections are not, and a failing gateway trips the breaker.
+ */
+class SmsServiceTests {
+
+    private StubSmsGateway gateway;
+    private SimpleMeterRegistry meters;
+    private SmsService smsService;
+
+    @BeforeEach
+    void start() throws Exception {
+        gateway = new StubSmsGateway();
+        meters = new SimpleMeterRegistry();
+        // 1s read timeout, 3 attempts, 10ms backoff, breaker opens after 3 failures for 500ms
+        Msg91SmsTransport transport = new Msg91SmsTransport(gateway.url(), "test-key", "template-1", 500, 1_000);
+        smsService = new SmsService(transport, meters, 2, 10, 3, 10, 3, 500);
+    }
+
+    @AfterEach
+    void stop() {
+        smsService.shutdown();
+        gateway.close();
+    }
+
+    @Test
+    void sendsThroughTheTransportWithoutBlocking() throws Exception {
+        gateway.reply(200, 200);
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> result = smsService.sendSms("9000000401", "123456");
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100, "sendSms waited on the gateway");
+
+        assertTrue(result.get(5, TimeUnit.SECONDS));
+        StubSmsGateway.Request request = gateway.requests().get(0);
+        assertEquals("test-key", request.authKey());
+        assertTrue(request.body().contains("\"mobile\":\"+919000000401\""));
+        assertTrue(request.body().contains("\"otp\":\"123456\""));
+        assertEquals(1.0, meters.get("sms.messages").tag("result", "sent").counter().count());
+    }
+
+    @Test
+    void retriesServerErrorsAndTimeouts() throws Exception {
+        gateway.reply(503).reply(200, 3_000); // second attempt times out
+        assertTrue(smsService.sendSms("9000000402", "123456").get(5, TimeUnit.SECONDS));
+        assertEquals(3, gateway.requests().size());
+    }
+
+    @Test
+    void doesNotRetryRejections() throws Exception {
+        gateway.reply(400);
+        assertFalse(smsService.sendSms("9000000403", "123456").get(5, TimeUnit.SECONDS));
+        assertEquals(1, gateway.requests().size());
+        assertEquals(1.0, meters.get("sms.messages").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void breakerOpensOnAFailingGatewayAndRecovers() throws Exception {
+        gateway.reply(500).reply(500).reply(500);
+        assertFalse(smsService.sendSms("9000000404", "123456").get(5, TimeUnit.SECONDS));
+        assertEquals(3, gateway.requests().size());
+
+        // open: refused without calling the gateway
+        assertFalse(smsService.sendSms("9000000405", "123456").get(5, TimeUnit.SECONDS));
+        assertEquals(3, gateway.requests().size());
+        assertEquals(1.0, meters.get("sms.breaker.open").gauge().value());
+
+        Thread.sleep(600);
+        assertTrue(smsService.sendSms("9000000406", "123456").get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, meters.get("sms.breaker.open").gauge().value());
+    }
+
+    @Test
+    void fullQueueDropsInsteadOfBlocking() throws Exception {
+        for (int i = 0; i < 20; i++) gateway.reply(200, 250);
+        CompletableFuture<?>[] results = new CompletableFuture<?>[20];
+        for (int i = 0; i < results.length; i++) results[i] = smsService.sendSms("90000005" + String.format("%02d", i), "123456");
+        CompletableFuture.allOf(results).get(10, TimeUnit.SECONDS);
+        // 2 workers + 10 queued
+        assertTrue(meters.get("sms.messages").tag("result", "rejected").counter().count() >= 8);
+    }
+}
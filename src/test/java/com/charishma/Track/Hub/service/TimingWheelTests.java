@@ -0,0 +1,66 @@
+package com.charishma.Track.Hub.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Timing wheel: timeouts fire once, never before their delay, also when the delay spans
+ * several turns of the wheel; cancelled ones never fire.
+ */
+class TimingWheelTests {
+
+    // 16 x 10ms: one turn of the wheel is 160ms
+    private final TimingWheel wheel = new TimingWheel("test-wheel", Duration.ofMillis(10), 16);
+
+    @AfterEach
+    void close() {
+        wheel.close();
+    }
+
+    @Test
+    void firesAfterDelayNotBefore() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] firedAt = new long[1];
+        wheel.schedule(() -> {
+            firedAt[0] = System.nanoTime();
+            fired.countDown();
+        }, Duration.ofMillis(100));
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(firedAt[0] - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void delaysLongerThanOneTurnWaitForTheirRound() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(fired::countDown, Duration.ofMillis(450));
+
+        assertFalse(fired.await(300, TimeUnit.MILLISECONDS), "fired a turn early");
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(450));
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFire() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch marker = new CountDownLatch(1);
+        for (int i = 0; i < 1_000; i++) {
+            wheel.schedule(runs::incrementAndGet, Duration.ofMillis(50)).cancel();
+        }
+        wheel.schedule(marker::countDown, Duration.ofMillis(80));
+
+        assertTrue(marker.await(2, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertEquals(0, wheel.pending());
+    }
+}
@@ -0,0 +1,99 @@
+package com.charishma.Track.Hub.service;
+
+import com.charishma.Track.Hub.dto.PostRequest;
+import com.charishma.Track.Hub.dto.PostResponse;
+import com.charishma.Track.Hub.model.User;
+import com.charishma.Track.Hub.repo.PostRepository;
+import com.charishma.Track.Hub.repo.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The owner's itemsPosted / itemsReturned counters follow creates, deletes and
+ * isClaimed changes, and reconciliation repairs them when they drift.
+ */
+@SpringBootTest
+class UserStatsServiceTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void seed() {
+        User u = new User();
+        u.setFirstName("Stats");
+        u.setEmail("stats@srkrec.ac.in");
+        u.setPasswordHash("x");
+        owner = userRepository.save(u);
+    }
+
+    @AfterEach
+    void cleanup() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void countersFollowPostLifecycle() {
+        PostResponse first = postService.createPost(request("Umbrella"));
+        PostResponse second = postService.createPost(request("Calculator"));
+        assertCounters(2, 0);
+
+        PostRequest claimed = new PostRequest();
+        claimed.setIsClaimed(true);
+        postService.updatePost(first.getId(), claimed);
+        postService.updatePost(first.getId(), claimed); // no change, no double count
+        assertCounters(2, 1);
+
+        postService.deletePost(first.getId());
+        assertCounters(1, 0);
+
+        postService.deletePost(second.getId());
+        assertCounters(0, 0);
+    }
+
+    @Test
+    void reconcileRepairsDrift() {
+        postService.createPost(request("Umbrella"));
+        owner = userRepository.findById(owner.getId()).orElseThrow();
+        owner.setItemsPosted(7);
+        owner.setItemsReturned(3);
+        userRepository.save(owner);
+
+        assertEquals(1, userStatsService.reconcile());
+        assertCounters(1, 0);
+        assertEquals(0, userStatsService.reconcile());
+    }
+
+    private PostRequest request(String title) {
+        PostRequest req = new PostRequest();
+        req.setUserId(owner.getId());
+        req.setTitle(title);
+        req.setDescription("Left in room 204");
+        req.setLocation("Block B");
+        req.setCategory("Accessories");
+        return req;
+    }
+
+    private void assertCounters(long posted, long returned) {
+        User u = userRepository.findById(owner.getId()).orElseThrow();
+        assertEquals(posted, u.getItemsPosted(), "itemsPosted");
+        assertEquals(returned, u.getItemsReturned(), "itemsReturned");
+    }
+}
@@ -0,0 +1,80 @@
+package com.charishma.Track.Hub.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the SMS gateway: an HTTP server on a free loopback port that answers each
+ * request with the next scripted reply (200 once the script runs out) and records what it got.
+ */
+public class StubSmsGateway implements AutoCloseable {
+
+    // One scripted reply
+    public record Reply(int status, long delayMs) {}
+
+    public record Request(String authKey, String body) {}
+
+    private final HttpServer server;
+    private final Queue<Reply> script = new ConcurrentLinkedQueue<>();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+
+    public StubSmsGateway() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/api/v5/otp";
+    }
+
+    public StubSmsGateway reply(int status) {
+        return reply(status, 0);
+    }
+
+    public StubSmsGateway reply(int status, long delayMs) {
+        script.add(new Reply(status, delayMs));
+        return this;
+    }
+
+    public List<Request> requests() {
+        return requests;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        requests.add(new Request(exchange.getRequestHeaders().getFirst("authkey"), body));
+        Reply reply = script.poll();
+        if (reply == null) reply = new Reply(200, 0);
+        if (reply.delayMs() > 0) {
+            try {
+                Thread.sleep(reply.delayMs());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] response = "{\"type\":\"success\"}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(reply.status(), response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}